@@ -0,0 +1,85 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.DialogPane;
+import javafx.stage.Stage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * What it costs to build the dialogs the explorer shows and to run the CSS and
+ * layout passes on a DialogPane, the work DialogPool saves on reuse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DialogConstructionBenchmark {
+    private Stage owner;
+    private DialogPane alertPane;
+    private boolean largeFont;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        FxThread.start();
+        FxThread.run(() -> {
+            owner = new Stage();
+            var alert = new Alert(AlertType.CONFIRMATION);
+            alert.setTitle("Confirmation Alert");
+            alert.setHeaderText("Confirmation Alert");
+            alert.setContentText("Confirmation Alert");
+            alertPane = alert.getDialogPane();
+            alertPane.applyCss();
+            alertPane.layout();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FxThread.BATCH)
+    public Object newAlert() {
+        return FxThread.call(() -> {
+            Alert alert = null;
+            for (int i = 0; i < FxThread.BATCH; i++) {
+                alert = new Alert(AlertType.INFORMATION);
+            }
+            return alert;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FxThread.BATCH)
+    public Object newCountDownDialog() {
+        return FxThread.call(() -> {
+            CountDownDialog countDownDlg = null;
+            for (int i = 0; i < FxThread.BATCH; i++) {
+                countDownDlg = new CountDownDialog(owner, 60, "Custom Dialog", true,
+                    CountDownDialog.Resolution.TENTHS);
+            }
+            return countDownDlg;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FxThread.BATCH)
+    public Object dialogPaneCssAndLayout() {
+        return FxThread.call(() -> {
+            for (int i = 0; i < FxThread.BATCH; i++) {
+                // a font change invalidates the styles and sizes of the whole pane
+                largeFont = !largeFont;
+                alertPane.setStyle(largeFont ? "-fx-font-size: 14px;" : "-fx-font-size: 13px;");
+                alertPane.applyCss();
+                alertPane.layout();
+            }
+            return alertPane.getHeight();
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit once per benchmark JVM and runs work on its
+ * application thread. Handing work over to the FX thread costs far more than
+ * most of what is measured, so benchmarks run a whole batch per call and
+ * report it with @OperationsPerInvocation.
+ */
+final class FxThread {
+    static final int BATCH = 100;
+
+    private static boolean started;
+
+    private FxThread() {
+    }
+
+    static synchronized void start() throws InterruptedException {
+        if (!started) {
+            var latch = new CountDownLatch(1);
+            Platform.startup(latch::countDown);
+            Platform.setImplicitExit(false);
+            latch.await();
+            started = true;
+        }
+    }
+
+    static <T> T call(Callable<T> work) {
+        var task = new FutureTask<>(work);
+        Platform.runLater(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Selecting a menu entry and clearing it again, which every dialog handler
+ * does through App#clearDialogOptionSelections once its dialog closes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MenuSelectionBenchmark {
+    @Param({ "11", "1000", "10000", "50000" })
+    public int menuSize;
+
+    private DialogMenu dialogMenu;
+    private DialogOption lastOption;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        FxThread.start();
+        FxThread.run(() -> {
+            var options = new ArrayList<DialogOption>(menuSize);
+            for (int i = 1; i <= menuSize; i++) {
+                options.add(new DialogOption("Sample Dialog " + i, () -> {}));
+            }
+            dialogMenu = new DialogMenu();
+            dialogMenu.addAll(options);
+            lastOption = options.get(options.size() - 1);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FxThread.BATCH)
+    public Object selectThenClear() {
+        return FxThread.call(() -> {
+            for (int i = 0; i < FxThread.BATCH; i++) {
+                dialogMenu.select(lastOption);
+                dialogMenu.clearSelection();
+            }
+            return dialogMenu.getView().getSelectionModel().getSelectedIndex();
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The lookups behind the Text Input and Choice Box dialogs, against the
+ * linear stream over the menu they used before OptionRegistry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OptionLookupBenchmark {
+    @Param({ "11", "1000", "50000" })
+    public int menuSize;
+
+    private final List<DialogOption> options = new ArrayList<>();
+    private final OptionRegistry<DialogOption> registry = new OptionRegistry<>();
+    private String lastName;
+
+    @Setup
+    public void setUp() {
+        var catalog = DialogCatalog.load();
+        for (var name : catalog.names()) {
+            options.add(new DialogOption(name, () -> {}));
+        }
+        for (int i = options.size() + 1; i <= menuSize; i++) {
+            options.add(new DialogOption("Sample Dialog " + i, () -> {}));
+        }
+        for (var option : options) {
+            registry.register(option.getText(), option);
+        }
+        // the worst case for a linear scan
+        lastName = options.get(options.size() - 1).getText().toUpperCase();
+    }
+
+    @Benchmark
+    public Optional<DialogOption> streamFind() {
+        return options.stream()
+            .filter(option -> option.getText().equalsIgnoreCase(lastName))
+            .findFirst();
+    }
+
+    @Benchmark
+    public Optional<DialogOption> registryFind() {
+        return registry.find(lastName);
+    }
+
+    @Benchmark
+    public List<String> registrySuggest() {
+        return registry.suggest("eror alrt", 8);
+    }
+
+    @Benchmark
+    public List<String> choiceTitles() {
+        return options.stream()
+            .map(DialogOption::getText)
+            .filter(title -> !title.equals("Choice Box Dialog"))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.control.Label;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * One pulse worth of countdown ticks: the scheduler dispatching to every
+ * running countdown, each of which swaps its label to a precomputed text the
+ * way CountDownDialog does at TENTHS resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PulseSchedulerBenchmark {
+    @Param({ "1", "16", "256" })
+    public int countdowns;
+
+    private PulseScheduler scheduler;
+    private final List<PulseScheduler.Task> tasks = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        FxThread.start();
+        FxThread.run(() -> {
+            var texts = new String[601];
+            for (int step = 0; step < texts.length; step++) {
+                texts[step] = (step / 10) + "." + (step % 10);
+            }
+
+            // a private scheduler so nothing else in the JVM adds to the tick, and
+            // without a clock so pulses don't tick it between the measured calls
+            scheduler = new PulseScheduler(false);
+            for (int i = 0; i < countdowns; i++) {
+                var label = new Label();
+                var counter = new int[1];
+                tasks.add(scheduler.schedule(0, 0, now -> {
+                    counter[0] = (counter[0] + 1) % texts.length;
+                    label.setText(texts[counter[0]]);
+                }));
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        FxThread.run(() -> tasks.forEach(PulseScheduler.Task::cancel));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FxThread.BATCH)
+    public Object tick() {
+        return FxThread.call(() -> {
+            for (int i = 0; i < FxThread.BATCH; i++) {
+                scheduler.tick(System.nanoTime());
+            }
+            return scheduler.size();
+        });
+    }
+}
@@ -0,0 +1,312 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.stage.Modality;
+
+/**
+ * Sits in front of Alert for notifications that can arrive in storms, such as
+ * the same backend error reported over and over.
+ *
+ * Notifications with the same key are folded into one window that shows how
+ * often it repeated, at most maxOpen windows are open at once and at most
+ * maxPending more wait for a window. When the waiting line is full a new
+ * notification pushes out the oldest one of lower priority, or is dropped
+ * itself, and post() reports that so producers can back off. post() may be
+ * called from any thread, the windows are opened and updated together once
+ * per pulse.
+ */
+final class AlertQueue {
+    enum Priority {
+        LOW,
+        NORMAL,
+        HIGH
+    }
+
+    enum Outcome {
+        QUEUED,
+        COALESCED,
+        DROPPED
+    }
+
+    /**
+     * One window showing a notification, only ever called on the FX thread.
+     */
+    interface View {
+        /**
+         * Opens the window, onClosed must be run once the user dismisses it.
+         */
+        void show(Notice notice, Runnable onClosed);
+
+        void update(Notice notice);
+    }
+
+    /**
+     * A snapshot of a notification and how many times it was posted.
+     */
+    static final class Notice {
+        final String key;
+        final Priority priority;
+        final String title;
+        final String message;
+        final int count;
+
+        Notice(String key, Priority priority, String title, String message, int count) {
+            this.key = key;
+            this.priority = priority;
+            this.title = title;
+            this.message = message;
+            this.count = count;
+        }
+
+        Notice withCount(int newCount) {
+            return new Notice(key, priority, title, message, newCount);
+        }
+    }
+
+    private final int maxOpen;
+    private final int maxPending;
+    private final Supplier<View> views;
+    private final Runnable requestDrain;
+
+    // everything below is guarded by this
+    private final Map<String, Notice> open = new HashMap<>();
+    private final Map<String, View> openViews = new HashMap<>();
+    private final LinkedHashMap<String, Notice> pending = new LinkedHashMap<>();
+    private final Set<String> changed = new LinkedHashSet<>();
+    private boolean drainRequested;
+
+    private long enqueued;
+    private long coalesced;
+    private long dropped;
+    private long shown;
+
+    AlertQueue(int maxOpen, int maxPending, Supplier<View> views, Runnable requestDrain) {
+        this.maxOpen = maxOpen;
+        this.maxPending = maxPending;
+        this.views = views;
+        this.requestDrain = requestDrain;
+    }
+
+    /**
+     * A queue that shows non-modal Alerts from the pool, draining on the
+     * shared pulse clock.
+     */
+    static AlertQueue create(DialogPool dialogPool, int maxOpen, int maxPending) {
+        var drainer = new PulseDrainer();
+        var queue = new AlertQueue(maxOpen, maxPending, () -> new AlertView(dialogPool), drainer);
+        drainer.queue = queue;
+        return queue;
+    }
+
+    Outcome post(String key, Priority priority, String title, String message) {
+        Outcome outcome;
+        synchronized (this) {
+            enqueued++;
+            var visible = open.get(key);
+            var waiting = pending.get(key);
+            if (visible != null) {
+                open.put(key, visible.withCount(visible.count + 1));
+                changed.add(key);
+                coalesced++;
+                outcome = Outcome.COALESCED;
+            } else if (waiting != null) {
+                pending.put(key, waiting.withCount(waiting.count + 1));
+                coalesced++;
+                outcome = Outcome.COALESCED;
+            } else if (pending.size() < maxPending || evictBelow(priority)) {
+                pending.put(key, new Notice(key, priority, title, message, 1));
+                outcome = Outcome.QUEUED;
+            } else {
+                dropped++;
+                return Outcome.DROPPED;
+            }
+
+            if (drainRequested) {
+                return outcome;
+            }
+            drainRequested = true;
+        }
+        requestDrain.run();
+        return outcome;
+    }
+
+    /**
+     * Applies everything posted since the last drain, on the FX thread. Returns
+     * false when there was nothing to do.
+     */
+    boolean drain() {
+        var updates = new ArrayList<Map.Entry<View, Notice>>();
+        var toShow = new ArrayList<Notice>();
+        synchronized (this) {
+            drainRequested = false;
+            for (var key : changed) {
+                updates.add(Map.entry(openViews.get(key), open.get(key)));
+            }
+            changed.clear();
+
+            while (open.size() < maxOpen && !pending.isEmpty()) {
+                var next = highestPriority();
+                pending.remove(next.key);
+                open.put(next.key, next);
+                toShow.add(next);
+                shown++;
+            }
+        }
+
+        for (var update : updates) {
+            update.getKey().update(update.getValue());
+        }
+        for (var notice : toShow) {
+            var view = views.get();
+            synchronized (this) {
+                openViews.put(notice.key, view);
+            }
+            view.show(notice, () -> closed(notice.key));
+        }
+        return !updates.isEmpty() || !toShow.isEmpty();
+    }
+
+    synchronized int openCount() {
+        return open.size();
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    synchronized long getEnqueued() {
+        return enqueued;
+    }
+
+    synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    synchronized long getShown() {
+        return shown;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("alerts: enqueued %d, coalesced %d, dropped %d, shown %d, open %d, pending %d",
+            enqueued, coalesced, dropped, shown, open.size(), pending.size());
+    }
+
+    private void closed(String key) {
+        synchronized (this) {
+            open.remove(key);
+            openViews.remove(key);
+            changed.remove(key);
+            if (pending.isEmpty() || drainRequested) {
+                return;
+            }
+            drainRequested = true;
+        }
+        // a window is free, let the next notification have it
+        requestDrain.run();
+    }
+
+    private boolean evictBelow(Priority priority) {
+        // the oldest of the lowest priority notifications goes first
+        Notice victim = null;
+        for (var notice : pending.values()) {
+            if (notice.priority.compareTo(priority) < 0
+                    && (victim == null || notice.priority.compareTo(victim.priority) < 0)) {
+                victim = notice;
+            }
+        }
+        if (victim == null) {
+            return false;
+        }
+        pending.remove(victim.key);
+        dropped++;
+        return true;
+    }
+
+    private Notice highestPriority() {
+        Iterator<Notice> it = pending.values().iterator();
+        var best = it.next();
+        while (it.hasNext()) {
+            var notice = it.next();
+            if (notice.priority.compareTo(best.priority) > 0) {
+                best = notice;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs drain() on every pulse while there is work and stops ticking as
+     * soon as a pulse finds nothing to do.
+     */
+    private static final class PulseDrainer implements Runnable {
+        AlertQueue queue;
+        private PulseScheduler.Task task;
+
+        @Override
+        public void run() {
+            Platform.runLater(() -> {
+                if (task == null) {
+                    task = PulseScheduler.shared().schedule(0, now -> {
+                        if (!queue.drain()) {
+                            task.cancel();
+                            task = null;
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    private static final class AlertView implements View {
+        private final DialogPool dialogPool;
+        private Alert alert;
+
+        AlertView(DialogPool dialogPool) {
+            this.dialogPool = dialogPool;
+        }
+
+        @Override
+        public void show(Notice notice, Runnable onClosed) {
+            // non-modal and non-blocking so a burst of notifications never stacks up nested loops
+            alert = dialogPool.alert(alertType(notice.priority), Modality.NONE);
+            alert.setTitle(notice.title);
+            alert.setHeaderText(notice.title);
+            update(notice);
+            AsyncDialogs.show(alert).thenRun(onClosed);
+        }
+
+        @Override
+        public void update(Notice notice) {
+            alert.setContentText(notice.count > 1
+                ? String.format("%s%n%nRepeated %d times", notice.message, notice.count)
+                : notice.message);
+        }
+
+        private static AlertType alertType(Priority priority) {
+            switch (priority) {
+                case HIGH:
+                    return AlertType.ERROR;
+                case NORMAL:
+                    return AlertType.WARNING;
+                default:
+                    return AlertType.INFORMATION;
+            }
+        }
+    }
+}
@@ -1,62 +1,64 @@
 
 package com.thecodinginterface.dialogs;
 
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ChoiceDialog;
+import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.control.Alert.AlertType;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
-import javafx.scene.web.WebView;
-import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.util.Pair;
 
 public class App extends Application {
     private static final double APP_WIDTH = 1200;
     private static final double APP_HEIGTH = 900;
     public static final double MENU_OPTIONS_WIDTH = 250;
 
-    private final String BLOCKING_NONE_ALERT = "None Alert";
-    private final String BLOCKING_INFO_ALERT = "Info Alert";
-    private final String BLOCKING_WARNING_ALERT = "Warning Alert";
-    private final String BLOCKING_CONFIRM_ALERT = "Confirmation Alert";
-    private final String BLOCKING_ERR_ALERT = "Error Alert";
-    private final String NONBLOCKING_ERR_ALERT = "Error Alert (Non-Blocking)";
-    private final String NONMODAL_ERR_ALERT = "Error Alert (Non-Modal)";
-    private final String ALERT_NO_HEADER = "Alert (No Header)";
-    private final String TEXT_DIALOG = "Text Input Dialog";
-    private final String CHOICE_DIALOG = "Choice Box Dialog";
-    private final String CUSTOM_DLG = "Custom Dialog";
-
-    private final Map<String, Pair<String, String>> webResourceMap = new HashMap<>();
+    private final StartupTimer startupTimer = new StartupTimer();
+    private final DialogPool dialogPool = new DialogPool();
+    private final OptionRegistry<DialogOption> optionRegistry = new OptionRegistry<>();
+    private final AlertQueue alertQueue = AlertQueue.create(dialogPool, 3, 50);
+    private final Map<String, CompletableFuture<ChoiceIndex>> choiceIndexes = new HashMap<>();
 
+    private Stage primaryStage;
+    private DialogCatalog catalog;
+    private DocIndex docIndex;
     private BorderPane rootPane;
-    private VBox menuVBox;
-    private WebView webView;
+    private DialogMenu dialogMenu;
+    private StackPane webViewHolder;
+    private DocumentPool documentPool;
+    private CssProfiler cssProfiler;
+    private InteractionJournal journal;
+    private SnapshotGallery gallery;
+    private boolean galleryShowing;
+    private URL stylesheet;
+    private String pendingDocumentUrl;
     private Label feedbackLbl;
     private String currentTCIUrl;
     private String currentJavaFXUrl;
@@ -66,7 +68,16 @@ public class App extends Application {
     }
 
     public void start(Stage primaryStage) {
-        buildWebResouceMap();
+        startupTimer.mark(StartupTimer.Phase.LAUNCH);
+        this.primaryStage = primaryStage;
+        catalog = DialogCatalog.load();
+        // the blog sections rendered at build time, see DocBuilder
+        docIndex = DocIndex.load();
+        journal = InteractionJournal.open();
+
+        // serve the documentation pages through the local disk cache
+        DocCacheUrlHandler.install(DocCache.shared());
+
         rootPane = new BorderPane();
         
         // heading
@@ -88,257 +99,120 @@ public class App extends Application {
         contentHBox.setAlignment(Pos.CENTER_RIGHT);
         HBox.setHgrow(feedbackLbl, Priority.ALWAYS);
 
-        webView = new WebView();
-        var contentVBox = new VBox(contentHBox, webView);
-        VBox.setVgrow(webView, Priority.ALWAYS);
+        // the WebView spins up WebKit which is the slowest part of startup so it is
+        // created after the first frame is on screen (see createWebView)
+        webViewHolder = new StackPane();
+        var contentVBox = new VBox(contentHBox, webViewHolder);
+        VBox.setVgrow(webViewHolder, Priority.ALWAYS);
         
         rootPane.setCenter(contentVBox);
 
         // dialog menu options
-        var menuScrollPane = new ScrollPane();
-        menuScrollPane.setFitToHeight(true);
-        // menuScrollPane.setPrefWidth(300);
-
-        rootPane.setLeft(menuScrollPane);
-
-        menuVBox = new VBox(5);
-        menuVBox.setFillWidth(true);
-
-        menuScrollPane.setContent(menuVBox);
-        menuVBox.getStyleClass().add("dialog-options");
-        var dialogsToggleGrp = new ToggleGroup();
-        menuVBox.getChildren().addAll(
-            new DialogOption(BLOCKING_NONE_ALERT, dialogsToggleGrp, () -> {
-                updateWebResouceUrls(BLOCKING_NONE_ALERT);
-                var alert = new Alert(AlertType.NONE);
-
-                alert.setTitle("I'm an alert title");
-                alert.setHeaderText("I'm an alert header");
-                alert.setContentText("I'm the main alert context (body)");
-
-                alert.getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
-
-                // showAndWait is a blocking call so, the code execution path pauses in 
-                // the executing JavaFX thread until the user interacts with the dialog
-                // in a way that causes it to close
-                
-                Optional<ButtonType> result = alert.showAndWait();
-                result.ifPresent(btnType -> {
-                    var msg = String.format(
-                        "You clicked %s in Alert %s",
-                        btnType.getButtonData(),
-                        BLOCKING_NONE_ALERT
-                    );
-                    feedbackLbl.setText(msg);
-                    clearDialogOptionSelections();
-                });
-            }),
-            new DialogOption(BLOCKING_INFO_ALERT, dialogsToggleGrp, () -> {
-                updateWebResouceUrls(BLOCKING_INFO_ALERT);
-
-                var alert = new Alert(AlertType.INFORMATION);
-                alert.setTitle(BLOCKING_INFO_ALERT);
-                alert.setHeaderText(BLOCKING_INFO_ALERT);
-                alert.setContentText(BLOCKING_INFO_ALERT);
-
-                alert.showAndWait().ifPresent((btnType) -> {
-                    feedbackLbl.setText("Thats all from " + BLOCKING_INFO_ALERT);
-                    clearDialogOptionSelections();
-                });
-            }),
-            new DialogOption(BLOCKING_WARNING_ALERT, dialogsToggleGrp, () -> {
-                updateWebResouceUrls(BLOCKING_WARNING_ALERT);
-
-                var alert = new Alert(AlertType.WARNING);
-                alert.setTitle(BLOCKING_WARNING_ALERT);
-                alert.setHeaderText(BLOCKING_WARNING_ALERT);
-                alert.setContentText(BLOCKING_WARNING_ALERT);
-                alert.showAndWait().ifPresent((btnType) -> {
-                    feedbackLbl.setText("Thats all from " + BLOCKING_WARNING_ALERT);
-                    clearDialogOptionSelections();
-                });
-            }),
-            new DialogOption(BLOCKING_CONFIRM_ALERT, dialogsToggleGrp, () -> {
-              updateWebResouceUrls(BLOCKING_CONFIRM_ALERT);
-
-              var alert = new Alert(AlertType.CONFIRMATION);
-              alert.setTitle(BLOCKING_CONFIRM_ALERT);
-              alert.setHeaderText(BLOCKING_CONFIRM_ALERT);
-              alert.setContentText(BLOCKING_CONFIRM_ALERT);
-              alert.showAndWait().ifPresent((btnType) -> {
-                  if (btnType == ButtonType.OK) {
-                    feedbackLbl.setText("Confirmed " + BLOCKING_CONFIRM_ALERT);
-                  } else if (btnType == ButtonType.CANCEL) {
-                    feedbackLbl.setText("Cancelled " + BLOCKING_CONFIRM_ALERT);
-                  }
-                  clearDialogOptionSelections();
-              });
-          }),
-          new DialogOption(BLOCKING_ERR_ALERT, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(BLOCKING_ERR_ALERT);
-
-            var alert = new Alert(AlertType.ERROR);
-            alert.setTitle(BLOCKING_ERR_ALERT);
-            alert.setHeaderText(BLOCKING_ERR_ALERT);
-            alert.setContentText(BLOCKING_ERR_ALERT);
-            alert.showAndWait().ifPresent((btnType) -> {
-                if (btnType == ButtonType.OK) {
-                  feedbackLbl.setText("Thats all from " + BLOCKING_ERR_ALERT);
-                }
-                clearDialogOptionSelections();
-            });
-          }),
-          new DialogOption(NONBLOCKING_ERR_ALERT, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(NONBLOCKING_ERR_ALERT);
-
-            var alert = new Alert(AlertType.ERROR);
-            alert.setTitle(NONBLOCKING_ERR_ALERT);
-            alert.setHeaderText(NONBLOCKING_ERR_ALERT);
-            alert.setContentText(NONBLOCKING_ERR_ALERT);
-
-            // Alert#show contrasts Alert#showAndWait where Alert#show is non-blocking 
-            // meaning that code within the execution path that contains the Alert 
-            // instance will continue to execute after Alert#show is called.
-            alert.show();
-
-            // the code below the show() method call will get exectued immediately
-            // after show() is called rather than wait on a user to close the dialog
-            alert.setOnHiding((evt) -> {
-                feedbackLbl.setText("Thats all from " + NONBLOCKING_ERR_ALERT);
-                clearDialogOptionSelections();
-            });
-
-            feedbackLbl.setText(NONBLOCKING_ERR_ALERT + 
-                " execution path kept running after the dialog was displayed");
-          }),
-          new DialogOption(NONMODAL_ERR_ALERT, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(NONMODAL_ERR_ALERT);
+        dialogMenu = new DialogMenu();
+        var searchBox = new DocSearchBox(docIndex, this::showDocSection);
+        var menuVBox = new VBox(searchBox.getView(), dialogMenu.getView());
+        VBox.setVgrow(dialogMenu.getView(), Priority.ALWAYS);
+        rootPane.setLeft(menuVBox);
+        // start loading the documentation of whatever the user is about to pick
+        dialogMenu.setOnHint(dlgOption -> prefetchDocuments(dlgOption.getText()));
+
+        // the menu only needs the names, each dialog's definition is read from
+        // the catalog the first time it is opened
+        var catalogOptions = new ArrayList<DialogOption>();
+        for (var name : catalog.names()) {
+            catalogOptions.add(new DialogOption(name, () -> openDialog(name)));
+        }
+        dialogMenu.addAll(catalogOptions);
+        addSyntheticOptions(Integer.getInteger("dialogs.menu.extraEntries", 0));
+
+        dialogMenu.getOptions().forEach(dlgOption -> {
+            optionRegistry.register(dlgOption.getText(), dlgOption);
+        });
 
-            var alert = new Alert(AlertType.ERROR);
-            alert.setTitle(NONMODAL_ERR_ALERT);
-            alert.setHeaderText(NONMODAL_ERR_ALERT);
-            alert.setContentText(NONMODAL_ERR_ALERT);
+        var sceneRoot = new StackPane(rootPane);
+        var watchdog = FxWatchdog.install();
+        if (watchdog != null && watchdog.getOverlay() != null) {
+            StackPane.setAlignment(watchdog.getOverlay(), Pos.BOTTOM_RIGHT);
+            sceneRoot.getChildren().add(watchdog.getOverlay());
+        }
+
+        var scene = new Scene(sceneRoot, APP_WIDTH, APP_HEIGTH);
+        // styles.bss is compiled from styles.css at build time (see compileStylesheets
+        // in build.gradle) so the stylesheet isn't parsed from text on every launch
+        var url = getClass().getResource("styles.bss");
+        if (url == null) {
+            url = getClass().getResource("styles.css");
+        }
+        stylesheet = url;
+        scene.getStylesheets().add(url.toExternalForm());
 
-            // Alerts exhibit Modality.APPLICATION_MODAL by default but,
-            // you can specify WINDOW_MODAL to block the window or NONE
-            // to be non-modal at all.
-            alert.initModality(Modality.NONE);
+        cssProfiler = CssProfiler.install();
+        if (cssProfiler != null) {
+            cssProfiler.profileStylesheet(url);
+            cssProfiler.profileScene("main scene", scene);
+        }
 
-            // you can also hook into when Modal's are initially shown using the
-            // inherited Dialog#setOnShowing event handler
-            alert.setOnShowing((evt) -> {
-                feedbackLbl.setText("Go ahead, click another option. I won't stop you.");
-            });
-
-            alert.showAndWait().ifPresent((btnType) -> {
-                if (btnType == ButtonType.OK) {
-                    feedbackLbl.setText("Thats all from " + NONMODAL_ERR_ALERT);
-                }
-                clearDialogOptionSelections();
-            });
-          }),
-          new DialogOption(ALERT_NO_HEADER, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(ALERT_NO_HEADER);
+        primaryStage.setScene(scene);
+        startupTimer.mark(StartupTimer.Phase.SCENE_BUILT);
+
+        Runnable firstPulseListener = new Runnable() {
+            @Override
+            public void run() {
+                startupTimer.mark(StartupTimer.Phase.FIRST_PULSE);
+                // pulse listeners can't be removed while the pulse is iterating them
+                Platform.runLater(() -> {
+                    scene.removePostLayoutPulseListener(this);
+                    createWebView();
+                });
+            }
+        };
+        scene.addPostLayoutPulseListener(firstPulseListener);
 
-            var alert = new Alert(AlertType.INFORMATION);
-            alert.setTitle(ALERT_NO_HEADER);
-            // null as a value will cause the section to not be displayed
-            alert.setHeaderText(null);
-            alert.setContentText(ALERT_NO_HEADER);
+        primaryStage.show();
+    }
 
-            alert.showAndWait().ifPresent((btnType) -> {
-                if (btnType == ButtonType.OK) {
-                    feedbackLbl.setText("Thats all from " + ALERT_NO_HEADER);
-                }
-                clearDialogOptionSelections();
-            });
-          }),
-          new DialogOption(TEXT_DIALOG, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(TEXT_DIALOG);
-
-            // Two constructors: TextInputDialog() and TextInputDialog(String)
-            // where the String is the default value
-            var txtDlg = new TextInputDialog(TEXT_DIALOG);
-            txtDlg.setTitle(TEXT_DIALOG);
-            txtDlg.setHeaderText(TEXT_DIALOG);
-            txtDlg.setContentText("Enter name of another dialog to open.");
-
-            // returns String optional
-            Optional<String> result = txtDlg.showAndWait();
-
-            // true => String (ie, user entered value and clicked ok)
-            // false => user clicked cancel
-            result.ifPresent(input -> {
-
-                // find the VBox child node that is a DialogOption
-                // and matches the user's input
-                Optional<Node> matchedDlg = menuVBox.getChildren().stream()
-                    .filter(node -> {
-                        return !input.equalsIgnoreCase(txtDlg.getDefaultValue())
-                          && ((DialogOption) node).getText().equalsIgnoreCase(input);
-                    }).findFirst();
-
-                if (matchedDlg.isPresent()) {
-                    // if present fire the action event of the underlying ToggleButton
-                    var dlgOption = (DialogOption) matchedDlg.get();
-                    dlgOption.fire();
-                    dlgOption.setSelected(true);
-                } else {
-                    // otherwise let the user know they didn't type in something
-                    // that matched on of the titles of the available OptionDialog(s)
-                    dialogsToggleGrp.selectToggle(null);
-                    var notFoundAlert = new Alert(AlertType.WARNING);
-                    notFoundAlert.setTitle("Input Not Recognized");
-                    notFoundAlert.setHeaderText(null);
-                    notFoundAlert.setContentText(String.format("%s does not match a dialog from the menu", input));
-                    notFoundAlert.show();
-                }
-            });
-            clearDialogOptionSelections();
-          }),
-          new DialogOption(CHOICE_DIALOG, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(CHOICE_DIALOG);
-
-            var titles = webResourceMap.keySet().stream()
-                .filter(dlgOption -> !dlgOption.equals(CHOICE_DIALOG))
-                .collect(Collectors.toList());
-
-            var defaultTitle = titles.get(0);
-            var choiceDlg = new ChoiceDialog<String>(defaultTitle, titles);
-
-            // returns Optional<String> on clicking ok
-            // or false if cancel is clicked
-            choiceDlg.showAndWait().ifPresent(selection -> {
-              Optional<Node> matchedDlg = menuVBox.getChildren().stream()
-                  .filter(node -> ((DialogOption) node).getText().equals(selection))
-                  .findFirst();
-
-              matchedDlg.ifPresent(node -> {
-                  var dlgOption = (DialogOption) matchedDlg.get();
-                  dlgOption.fire();
-                  dlgOption.setSelected(true);
-              });
-            });
-            clearDialogOptionSelections();
-          }),
-          new DialogOption(CUSTOM_DLG, dialogsToggleGrp, () -> {
-            updateWebResouceUrls(CUSTOM_DLG);
-            
-            var countDownDlg = new CountDownDialog(primaryStage, 60, CUSTOM_DLG, true);
-
-            countDownDlg.showAndWait().ifPresent((endingValue) -> {
-                feedbackLbl.setText(String.format("%s was closed at %d", CUSTOM_DLG, endingValue));
-                clearDialogOptionSelections();
-            });
-          })
-        );
-        
-        var scene = new Scene(rootPane, APP_WIDTH, APP_HEIGTH);
-        var url = getClass().getResource("styles.css");
-        scene.getStylesheets().add(url.toExternalForm());
+    void createWebView() {
+        if (documentPool != null) {
+            return;
+        }
+        documentPool = DocumentPool.create(webViewHolder);
+        webViewHolder.getChildren().setAll(documentPool.current());
+        startupTimer.mark(StartupTimer.Phase.WEBVIEW_READY);
+
+        if (pendingDocumentUrl != null) {
+            loadDocument(pendingDocumentUrl);
+            pendingDocumentUrl = null;
+        }
+
+        // startup is done, build the reusable dialogs while the user looks around
+        dialogPool.prewarm();
+
+        var soakCycles = Integer.getInteger("dialogs.soak.cycles", 0);
+        if (soakCycles > 0) {
+            new SoakRunner(dialogMenu.getOptions(), soakCycles).start();
+        }
+    }
 
-        primaryStage.setScene(scene);
-        primaryStage.show();
+    @Override
+    public void stop() {
+        if (Boolean.getBoolean("dialogs.pool.report")) {
+            System.out.println(dialogPool.latencySummary());
+        }
+        if (Boolean.getBoolean("dialogs.alerts.report")) {
+            System.out.println(alertQueue);
+        }
+        if (cssProfiler != null) {
+            System.out.println(cssProfiler.report());
+        }
+        if (documentPool != null && Boolean.getBoolean("dialogs.prefetch.report")) {
+            System.out.println(documentPool.summary());
+        }
+        if (gallery != null && Boolean.getBoolean("dialogs.snapshots.report")) {
+            System.out.println(snapshotCache().summary());
+        }
+        if (journal != null) {
+            journal.close();
+        }
     }
 
     HBox makeHeader() {
@@ -352,99 +226,404 @@ public class App extends Application {
 
     HBox makeSourceButtons() {
         var sourceBtnTG = new ToggleGroup();
-        var tciImageView = new ImageView(new Image(
-            getClass().getResourceAsStream("tci-logo.png")
-        ));
-        tciImageView.setPreserveRatio(true);
-        tciImageView.setFitWidth(71);
-
-        var javafxImageView = new ImageView(new Image(
-            getClass().getResourceAsStream("javafx-logo.png")
-        ));
-        javafxImageView.setPreserveRatio(true);
-        javafxImageView.setFitWidth(69);
-        
+        // decoded in the background at the size they are shown at
+        var tciImageView = ImageAssets.shared().view("tci-logo.png", 71);
+        var javafxImageView = ImageAssets.shared().view("javafx-logo.png", 69);
+
         var tciBtn = new ToggleButton(null, tciImageView);
         var javafxBtn = new ToggleButton(null, javafxImageView);
+        var galleryBtn = new ToggleButton("Gallery");
 
         tciBtn.setToggleGroup(sourceBtnTG);
         javafxBtn.setToggleGroup(sourceBtnTG);
+        galleryBtn.setToggleGroup(sourceBtnTG);
 
         tciBtn.getStyleClass().add("source-btn");
         javafxBtn.getStyleClass().add("source-btn");
+        galleryBtn.getStyleClass().add("source-btn");
 
         tciBtn.setOnAction(evt -> {
-            webView.getEngine().load(currentTCIUrl);
+            galleryShowing = false;
+            loadDocument(currentTCIUrl);
         });
         javafxBtn.setOnAction(evt -> {
-            webView.getEngine().load(currentJavaFXUrl);
+            galleryShowing = false;
+            loadDocument(currentJavaFXUrl);
+        });
+        galleryBtn.setOnAction(evt -> {
+            showGallery();
         });
 
-        return new HBox(3, tciBtn, javafxBtn);
+        return new HBox(3, tciBtn, javafxBtn, galleryBtn);
     }
 
-    void clearDialogOptionSelections() {
-        menuVBox.getChildren().forEach((node) -> {
-          if (node instanceof DialogOption) {
-              var dlgOption = (DialogOption) node;
-              dlgOption.setSelected(false);
-          }
+    void openDialog(String name) {
+        var definition = catalog.definition(name);
+        updateWebResouceUrls(definition);
+        record(InteractionJournal.Kind.OPENED, name, null);
+
+        switch (definition.getType()) {
+            case "alert":
+                showAlert(definition);
+                break;
+            case "text-input":
+                showTextInputDialog(definition);
+                break;
+            case "choice":
+                showChoiceDialog(definition);
+                break;
+            case "large-choice":
+                showLargeChoiceDialog(definition);
+                break;
+            case "countdown":
+                showCountDownDialog(definition);
+                break;
+            case "progress":
+                showProgressDialog(definition);
+                break;
+            default:
+                throw new IllegalStateException(String.format(
+                    "%s has unknown dialog type %s", name, definition.getType()));
+        }
+    }
+
+    void showAlert(DialogDefinition definition) {
+        // Alerts exhibit Modality.APPLICATION_MODAL by default but,
+        // you can specify WINDOW_MODAL to block the window or NONE
+        // to be non-modal at all. Alert#initModality can only be called
+        // before the first show so the pool keeps alerts per modality.
+        var alert = dialogPool.alert(definition.getAlertType(), definition.getModality());
+        configureAlert(alert, definition);
+
+        // a trace of any size goes in the expandable "Show Details" section, it is
+        // made and indexed in the background so the alert still shows straight away
+        var traceFrames = definition.getInt("traceFrames", 0);
+        if (traceFrames > 0) {
+            var traceViewer = new TraceViewer(() -> TraceViewer.sampleTrace(traceFrames));
+            alert.getDialogPane().setExpandableContent(traceViewer.getView());
+        }
+
+        // you can also hook into when Modal's are initially shown using the
+        // inherited Dialog#setOnShowing event handler
+        var showingFeedback = definition.get("showingFeedback");
+        if (showingFeedback != null) {
+            alert.setOnShowing((evt) -> {
+                feedbackLbl.setText(showingFeedback);
+            });
+        }
+
+        if (definition.isBlocking()) {
+            // showAndWait is a blocking call so, the code execution path pauses in
+            // the executing JavaFX thread until the user interacts with the dialog
+            // in a way that causes it to close
+            alert.showAndWait().ifPresent((btnType) -> {
+                record(InteractionJournal.Kind.BUTTON, definition.getName(), btnType.getText());
+                definition.getFeedback(btnType).ifPresent(feedbackLbl::setText);
+                clearDialogOptionSelections();
+            });
+        } else {
+            // Alert#show contrasts Alert#showAndWait where Alert#show is non-blocking
+            // meaning that code within the execution path that contains the Alert
+            // instance will continue to execute after Alert#show is called.
+            // AsyncDialogs calls show() and completes a future once the alert closes.
+            AsyncDialogs.show(alert).thenAccept((result) -> {
+                record(InteractionJournal.Kind.BUTTON, definition.getName(),
+                    result.map(ButtonType::getText).orElse(null));
+                definition.getFeedback(result.orElse(null)).ifPresent(feedbackLbl::setText);
+                clearDialogOptionSelections();
+            });
+
+            // the code below the show() method call will get exectued immediately
+            // after show() is called rather than wait on a user to close the dialog
+
+            var shownFeedback = definition.get("shownFeedback");
+            if (shownFeedback != null) {
+                feedbackLbl.setText(shownFeedback);
+            }
+        }
+    }
+
+    void configureAlert(Alert alert, DialogDefinition definition) {
+        alert.setTitle(definition.get("title"));
+        // null as a value will cause the section to not be displayed
+        alert.setHeaderText(definition.get("header"));
+        alert.setContentText(definition.get("content"));
+
+        var buttons = definition.getButtons();
+        if (!buttons.isEmpty()) {
+            alert.getButtonTypes().setAll(buttons);
+        }
+    }
+
+    void showTextInputDialog(DialogDefinition definition) {
+        // Two constructors: TextInputDialog() and TextInputDialog(String)
+        // where the String is the default value. The pool reuses one
+        // instance so it fills the editor with the initial text instead.
+        var txtDlg = dialogPool.textInput(definition.get("initialText", ""));
+        txtDlg.setTitle(definition.get("title"));
+        txtDlg.setHeaderText(definition.get("header"));
+        txtDlg.setContentText(definition.get("content"));
+
+        // suggest matching dialog names as the user types
+        var suggestions = new SuggestionPopup(txtDlg.getEditor(), optionRegistry);
+
+        // returns String optional
+        Optional<String> result = txtDlg.showAndWait();
+        suggestions.detach();
+        record(InteractionJournal.Kind.INPUT, definition.getName(), result.orElse(null));
+
+        // true => String (ie, user entered value and clicked ok)
+        // false => user clicked cancel
+        result.ifPresent(input -> {
+
+            // look up the DialogOption whose name matches the user's input
+            Optional<DialogOption> matchedDlg = input.equalsIgnoreCase(definition.getName())
+                ? Optional.empty()
+                : optionRegistry.find(input);
+
+            if (matchedDlg.isPresent()) {
+                // if present fire the matched option just like clicking it in the menu
+                var dlgOption = matchedDlg.get();
+                dlgOption.fire();
+                dialogMenu.select(dlgOption);
+            } else {
+                // otherwise let the user know they didn't type in something
+                // that matched on of the titles of the available OptionDialog(s)
+                dialogMenu.clearSelection();
+                // typing the same thing again counts up on the open warning rather
+                // than stacking another window on top of it
+                alertQueue.post("input-not-recognized:" + input.strip().toLowerCase(),
+                    AlertQueue.Priority.NORMAL, "Input Not Recognized",
+                    String.format("%s does not match a dialog from the menu", input));
+            }
+        });
+        clearDialogOptionSelections();
+    }
+
+    List<String> choiceTitles(DialogDefinition definition) {
+        return catalog.names().stream()
+            .filter(dlgOption -> !dlgOption.equals(definition.getName()))
+            .collect(Collectors.toList());
+    }
+
+    void showChoiceDialog(DialogDefinition definition) {
+        var titles = choiceTitles(definition);
+        var defaultTitle = titles.get(0);
+        var choiceDlg = dialogPool.choice(defaultTitle, titles);
+
+        // returns Optional<String> on clicking ok
+        // or false if cancel is clicked
+        var choice = choiceDlg.showAndWait();
+        record(InteractionJournal.Kind.INPUT, definition.getName(), choice.orElse(null));
+        choice.ifPresent(selection -> {
+          optionRegistry.find(selection).ifPresent(dlgOption -> {
+              dlgOption.fire();
+              dialogMenu.select(dlgOption);
+          });
         });
+        clearDialogOptionSelections();
+    }
+
+    void showLargeChoiceDialog(DialogDefinition definition) {
+        // the index is built once in the background, opening the dialog again reuses it
+        var index = choiceIndexes.computeIfAbsent(definition.getName(), name ->
+            LargeChoiceDialog.index(ChoiceSource.sampleHosts(definition.getInt("items", 1000000))));
+        var largeChoiceDlg = new LargeChoiceDialog(primaryStage, definition.get("header"), index);
+
+        // returns Optional<String> on clicking ok with something matching
+        var choice = largeChoiceDlg.showAndWait();
+        record(InteractionJournal.Kind.INPUT, definition.getName(), choice.orElse(null));
+        feedbackLbl.setText(choice
+            .map(selection -> String.format("You picked %s in %s", selection, definition.getName()))
+            .orElse(definition.getName() + " was closed without a pick"));
+        clearDialogOptionSelections();
+    }
+
+    CountDownDialog makeCountDownDialog(DialogDefinition definition) {
+        return new CountDownDialog(
+            primaryStage,
+            definition.getInt("startFrom", 60),
+            definition.get("header"),
+            definition.getBoolean("decorated", true),
+            CountDownDialog.Resolution.valueOf(definition.get("resolution", "SECONDS"))
+        );
+    }
+
+    void showCountDownDialog(DialogDefinition definition) {
+        var countDownDlg = makeCountDownDialog(definition);
+
+        countDownDlg.showAndWait().ifPresent((endingValue) -> {
+            record(InteractionJournal.Kind.COUNTDOWN, definition.getName(), endingValue.toString());
+            feedbackLbl.setText(String.format("%s was closed at %d (max drift %.1f ms, %d dropped frames)",
+                definition.getName(), endingValue, countDownDlg.getMaxDriftMillis(), countDownDlg.getDroppedFrames()));
+            clearDialogOptionSelections();
+        });
+    }
+
+    void record(InteractionJournal.Kind kind, String dialog, String value) {
+        // a no-op when the journal is turned off
+        if (journal != null) {
+            journal.record(kind, dialog, value);
+        }
+    }
+
+    ProgressDialog makeProgressDialog(DialogDefinition definition) {
+        return new ProgressDialog(
+            primaryStage,
+            definition.get("header"),
+            Long.parseLong(definition.get("items", "1000000")),
+            definition.getInt("workers", Runtime.getRuntime().availableProcessors()),
+            definition.getInt("workPerItem", 100)
+        );
+    }
+
+    void showProgressDialog(DialogDefinition definition) {
+        var progressDlg = makeProgressDialog(definition);
+
+        // the result is however many items were done when the dialog closed
+        progressDlg.showAndWait().ifPresent((itemsDone) -> {
+            record(InteractionJournal.Kind.PROGRESS, definition.getName(), itemsDone.toString());
+            feedbackLbl.setText(String.format("%s %s after %,d items at %.0f items/s (longest frame %.1f ms)",
+                definition.getName(), progressDlg.isCancelled() ? "was cancelled" : "finished",
+                itemsDone, progressDlg.getItemsPerSecond(), progressDlg.getLongestFrameMillis()));
+            clearDialogOptionSelections();
+        });
+    }
+
+    /**
+     * A new dialog set up the way opening definition would, for the gallery
+     * to take a picture of. It is never shown so nothing in it starts running.
+     */
+    Dialog<?> previewDialog(DialogDefinition definition) {
+        switch (definition.getType()) {
+            case "alert":
+                var alert = new Alert(definition.getAlertType());
+                configureAlert(alert, definition);
+                if (definition.getInt("traceFrames", 0) > 0) {
+                    // enough for the Show Details link, the trace is out of the picture anyway
+                    alert.getDialogPane().setExpandableContent(new Label());
+                }
+                return alert;
+            case "text-input":
+                var txtDlg = new TextInputDialog(definition.get("initialText", ""));
+                txtDlg.setTitle(definition.get("title"));
+                txtDlg.setHeaderText(definition.get("header"));
+                txtDlg.setContentText(definition.get("content"));
+                return txtDlg;
+            case "choice":
+                var titles = choiceTitles(definition);
+                return new ChoiceDialog<>(titles.get(0), titles);
+            case "large-choice":
+                // left indexing, a picture isn't worth building a million item index for
+                return new LargeChoiceDialog(primaryStage, definition.get("header"), new CompletableFuture<>());
+            case "countdown":
+                return makeCountDownDialog(definition);
+            case "progress":
+                return makeProgressDialog(definition);
+            default:
+                throw new IllegalStateException(String.format(
+                    "%s has unknown dialog type %s", definition.getName(), definition.getType()));
+        }
+    }
+
+    void showGallery() {
+        if (gallery == null) {
+            gallery = new SnapshotGallery(catalog, snapshotCache(), stylesheet.toExternalForm(), this::previewDialog,
+                name -> optionRegistry.find(name).ifPresent(dlgOption -> {
+                    dlgOption.fire();
+                    dialogMenu.select(dlgOption);
+                }));
+        }
+        galleryShowing = true;
+        gallery.refresh();
+        webViewHolder.getChildren().setAll(gallery.getView());
+    }
+
+    SnapshotCache snapshotCache() {
+        // thumbnails are only good for the stylesheet they were taken with
+        return SnapshotCache.shared(stylesheet);
+    }
+
+    void clearDialogOptionSelections() {
+        dialogMenu.clearSelection();
+    }
+
+    void addSyntheticOptions(int count) {
+        // stand-ins for forks with hundreds of samples, used to exercise the menu at scale
+        var options = new ArrayList<DialogOption>(count);
+        for (int i = 1; i <= count; i++) {
+            var name = "Sample Dialog " + i;
+            options.add(new DialogOption(name, () -> {
+                var alert = dialogPool.alert(AlertType.INFORMATION);
+                alert.setTitle(name);
+                alert.setHeaderText(name);
+                alert.setContentText(name);
+                alert.showAndWait();
+                clearDialogOptionSelections();
+            }));
+        }
+        dialogMenu.addAll(options);
+    }
+
+    void updateWebResouceUrls(DialogDefinition definition) {
+        // the bundled copy of the blog section when there is one
+        currentTCIUrl = docIndex.localUrl(definition.getTCIUrl());
+        currentJavaFXUrl = definition.getJavaFXUrl();
+        loadDocument(currentTCIUrl);
+        // the other source is one click away
+        if (documentPool != null) {
+            documentPool.prefetch(DocCache.toCacheUrl(currentJavaFXUrl));
+        }
+    }
+
+    void showDocSection(DocIndex.Section section) {
+        // the section a dialog's docs point at also selects that dialog, several
+        // dialogs can share a section so the one named after it wins
+        DialogOption match = null;
+        for (var dlgOption : dialogMenu.getOptions()) {
+            var name = dlgOption.getText();
+            if (catalog.names().contains(name) && catalog.definition(name).getTCIUrl().endsWith("#" + section.anchor)) {
+                if (name.equalsIgnoreCase(section.heading)) {
+                    match = dlgOption;
+                    break;
+                }
+                if (match == null) {
+                    match = dlgOption;
+                }
+            }
+        }
+        if (match != null) {
+            updateWebResouceUrls(catalog.definition(match.getText()));
+            dialogMenu.reveal(match);
+            return;
+        }
+        loadDocument(DocIndex.pageUrl(section));
     }
 
-    void updateWebResouceUrls(String resourceKey) {
-        Pair<String, String> resourcePair = webResourceMap.get(resourceKey);
-        currentTCIUrl = resourcePair.getKey();
-        currentJavaFXUrl = resourcePair.getValue();
-        webView.getEngine().load(currentTCIUrl);
+    void prefetchDocuments(String name) {
+        // synthetic options have no documentation
+        if (documentPool == null || !catalog.names().contains(name)) {
+            return;
+        }
+        var definition = catalog.definition(name);
+        documentPool.prefetch(DocCache.toCacheUrl(docIndex.localUrl(definition.getTCIUrl())));
+        documentPool.prefetch(DocCache.toCacheUrl(definition.getJavaFXUrl()));
     }
 
-    void buildWebResouceMap() {
-        webResourceMap.putAll(Map.ofEntries(
-          Map.entry(BLOCKING_NONE_ALERT, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#non-alert",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(BLOCKING_INFO_ALERT, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#informational-alert",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(BLOCKING_WARNING_ALERT,
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#warning-alert",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(BLOCKING_CONFIRM_ALERT,
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#confirmation-alert",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(BLOCKING_ERR_ALERT,
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#error-alert",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(NONBLOCKING_ERR_ALERT,  
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#error-alert-non-blocking",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(NONMODAL_ERR_ALERT, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#error-alert-non-modal",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(ALERT_NO_HEADER, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#alert-no-header",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Alert.html")),
-          Map.entry(TEXT_DIALOG, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#text-input-dialog",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/TextInputDialog.html")),
-          Map.entry(CHOICE_DIALOG, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#choice-box-dialog",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/ChoiceDialog.html")),
-          Map.entry(CUSTOM_DLG, 
-            new Pair<String, String>(
-                "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#custom-dialog",
-                "https://openjfx.io/javadoc/11/javafx.controls/javafx/scene/control/Dialog.html"))
-        ));
+    void loadDocument(String url) {
+        if (documentPool == null) {
+            // picked up by createWebView once WebKit is ready
+            pendingDocumentUrl = url;
+            return;
+        }
+        // a prefetched page, or the one already showing, is swapped in without a reload
+        var view = documentPool.show(DocCache.toCacheUrl(url));
+        // the gallery stays up while dialogs are opened from it
+        if (galleryShowing) {
+            return;
+        }
+        if (webViewHolder.getChildren().size() != 1 || webViewHolder.getChildren().get(0) != view) {
+            webViewHolder.getChildren().setAll(view);
+        }
     }
 }
@@ -0,0 +1,109 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+
+/**
+ * Shows dialogs without blocking anything and hands their result back through
+ * a CompletableFuture, so any thread can ask the user something.
+ *
+ * Dialogs are built and shown on the FX thread with Dialog#show rather than
+ * showAndWait, so no nested event loop is started and the calling thread is
+ * never parked. The future completes on the FX thread once the dialog closes,
+ * holding its result or empty when it was closed without one. Dependent stages
+ * added without an executor therefore run on the FX thread too and may touch
+ * the UI. Cancelling the future closes the dialog, as if cancelled even when
+ * it has no cancel button of its own.
+ */
+final class AsyncDialogs {
+    private AsyncDialogs() {
+    }
+
+    /**
+     * Builds the dialog on the FX thread and shows it. Use this from background
+     * threads, dialogs (and the pool that hands them out) may only be created on
+     * the FX thread. Any exception from the factory fails the future.
+     */
+    static <R> CompletableFuture<Optional<R>> show(Supplier<? extends Dialog<R>> factory) {
+        var future = new CompletableFuture<Optional<R>>();
+        runOnFxThread(() -> {
+            if (future.isDone()) {
+                // cancelled before it got its turn on the FX thread
+                return;
+            }
+            try {
+                showNow(factory.get(), future);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Shows a dialog that has already been built.
+     */
+    static <R> CompletableFuture<Optional<R>> show(Dialog<R> dialog) {
+        return show(() -> dialog);
+    }
+
+    private static <R> void showNow(Dialog<R> dialog, CompletableFuture<Optional<R>> future) {
+        // a showing listener rather than setOnHidden leaves the dialog's handlers to its owner
+        ChangeListener<Boolean> closeListener = new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Boolean> obs, Boolean wasShowing, Boolean isShowing) {
+                if (!isShowing) {
+                    dialog.showingProperty().removeListener(this);
+                    future.complete(Optional.ofNullable(dialog.getResult()));
+                }
+            }
+        };
+        dialog.showingProperty().addListener(closeListener);
+
+        dialog.show();
+
+        // registered once the dialog is up so a cancel that came in while it was
+        // being built still finds it showing and closes it
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                runOnFxThread(() -> closeCancelled(dialog));
+            }
+        });
+    }
+
+    private static void closeCancelled(Dialog<?> dialog) {
+        if (!dialog.isShowing()) {
+            return;
+        }
+        // close() is refused unless the dialog has a cancel button or only one
+        // button, so one is lent to the dialog for as long as it takes to close
+        var buttonTypes = dialog.getDialogPane().getButtonTypes();
+        var lend = buttonTypes.size() != 1
+            && buttonTypes.stream().noneMatch(type -> type.getButtonData().isCancelButton());
+        if (lend) {
+            buttonTypes.add(ButtonType.CANCEL);
+        }
+        try {
+            dialog.close();
+        } finally {
+            if (lend) {
+                buttonTypes.remove(ButtonType.CANCEL);
+            }
+        }
+    }
+
+    private static void runOnFxThread(Runnable work) {
+        if (Platform.isFxApplicationThread()) {
+            work.run();
+        } else {
+            Platform.runLater(work);
+        }
+    }
+}
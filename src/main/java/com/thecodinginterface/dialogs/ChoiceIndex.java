@@ -0,0 +1,160 @@
+package com.thecodinginterface.dialogs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Filters the items of a ChoiceSource by substring, case ignored, without
+ * keeping a single item String around.
+ *
+ * The source is read once, a page at a time, and every item is lower cased
+ * and packed into one byte array as UTF-8, with an int array of where each
+ * one starts. Alongside goes a 128 bit signature per item, one bit set for
+ * every pair of adjacent bytes in it. An item can only contain the query if
+ * its signature has all of the query's bits, so most items are ruled out by
+ * two long comparisons and only the rest are searched byte by byte. A
+ * million host names take about 60 MB, a query narrowing them down to a
+ * few thousand filters in a few milliseconds, a single letter matching half
+ * of them in a few tens.
+ */
+final class ChoiceIndex {
+    private static final int PAGE = 4096;
+    // how many items are filtered between checks whether the query is still wanted
+    private static final int CHECK_EVERY = 16384;
+
+    private final ChoiceSource source;
+    private final byte[] text;
+    // starts[i] is where item i starts in text, the last entry is where the last one ends
+    private final int[] starts;
+    // two longs per item
+    private final long[] signatures;
+    private final int[] all;
+
+    private ChoiceIndex(ChoiceSource source, byte[] text, int[] starts, long[] signatures) {
+        this.source = source;
+        this.text = text;
+        this.starts = starts;
+        this.signatures = signatures;
+        this.all = new int[starts.length - 1];
+        Arrays.setAll(all, i -> i);
+    }
+
+    static ChoiceIndex build(ChoiceSource source) {
+        var size = source.size();
+        var text = new byte[Math.max(1024, size * 32)];
+        var starts = new int[size + 1];
+        var signatures = new long[size * 2];
+        var length = 0;
+        for (int from = 0; from < size; from += PAGE) {
+            var page = source.page(from, PAGE);
+            for (int i = 0; i < page.size(); i++) {
+                var item = fold(page.get(i));
+                if (length + item.length > text.length) {
+                    text = Arrays.copyOf(text, Math.max(text.length * 2, length + item.length));
+                }
+                System.arraycopy(item, 0, text, length, item.length);
+                signature(text, length, length + item.length, signatures, (from + i) * 2);
+                length += item.length;
+                starts[from + i + 1] = length;
+            }
+        }
+        return new ChoiceIndex(source, Arrays.copyOf(text, length), starts, signatures);
+    }
+
+    ChoiceSource source() {
+        return source;
+    }
+
+    int size() {
+        return all.length;
+    }
+
+    /**
+     * The items containing query, in source order, or null when cancelled
+     * says the result is no longer wanted.
+     */
+    int[] filter(String query, BooleanSupplier cancelled) {
+        return filter(query, null, cancelled);
+    }
+
+    /**
+     * As filter(query, cancelled) but only looking at the items in within,
+     * the matches of a query this one contains. Typing one more letter then
+     * only goes over what matched before.
+     */
+    int[] filter(String query, int[] within, BooleanSupplier cancelled) {
+        var needle = fold(query);
+        if (needle.length == 0) {
+            return all;
+        }
+        var candidates = within != null ? within : all;
+        var wanted = new long[2];
+        signature(needle, 0, needle.length, wanted, 0);
+
+        var matches = new int[Math.min(candidates.length, 1024)];
+        var count = 0;
+        for (int c = 0; c < candidates.length; c++) {
+            if (c % CHECK_EVERY == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            var item = candidates[c];
+            if ((signatures[item * 2] & wanted[0]) != wanted[0]
+                    || (signatures[item * 2 + 1] & wanted[1]) != wanted[1]
+                    || !contains(starts[item], starts[item + 1], needle)) {
+                continue;
+            }
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, Math.min(candidates.length, count * 2));
+            }
+            matches[count++] = item;
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private boolean contains(int from, int to, byte[] needle) {
+        var first = needle[0];
+        var last = to - needle.length;
+        for (int i = from; i <= last; i++) {
+            if (text[i] != first) {
+                continue;
+            }
+            if (needle.length == 1) {
+                return true;
+            }
+            var j = 1;
+            while (j < needle.length && text[i + j] == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static byte[] fold(String item) {
+        return item.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void signature(byte[] bytes, int from, int to, long[] signatures, int at) {
+        long low = 0;
+        long high = 0;
+        for (int i = from + 1; i < to; i++) {
+            // the pairs in host names and the like are much alike, a weak hash piles them onto a few bits
+            long hash = ((bytes[i - 1] & 0xFF) << 8 | (bytes[i] & 0xFF)) + 1;
+            hash *= 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+            hash *= 0xBF58476D1CE4E5B9L;
+            var bit = (int) (hash >>> 57);
+            if (bit < 64) {
+                low |= 1L << bit;
+            } else {
+                high |= 1L << (bit - 64);
+            }
+        }
+        signatures[at] = low;
+        signatures[at + 1] = high;
+    }
+}
@@ -0,0 +1,72 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where a LargeChoiceDialog gets its items from. Items are read a page at a
+ * time so neither the dialog nor its ChoiceIndex needs all of them as
+ * Strings at once, a source backed by a database or a service only has to
+ * answer for the page asked for.
+ */
+interface ChoiceSource {
+    int size();
+
+    /**
+     * The items from index from on, count of them or fewer at the end.
+     */
+    List<String> page(int from, int count);
+
+    static ChoiceSource of(List<String> items) {
+        return new ChoiceSource() {
+            @Override
+            public int size() {
+                return items.size();
+            }
+
+            @Override
+            public List<String> page(int from, int count) {
+                return items.subList(from, Math.min(items.size(), from + count));
+            }
+        };
+    }
+
+    /**
+     * Made up host names for the explorer, each one worked out from its index
+     * when asked for so a million of them cost nothing until they are read.
+     */
+    static ChoiceSource sampleHosts(int count) {
+        var roles = new String[] { "web", "api", "db", "cache", "queue", "search", "batch", "edge" };
+        var regions = new String[] { "us-east-1", "us-west-2", "eu-west-1", "eu-central-1", "ap-south-1", "sa-east-1" };
+        var stages = new String[] { "prod", "staging", "dev" };
+        return new ChoiceSource() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public List<String> page(int from, int pageSize) {
+                var to = Math.min(count, from + pageSize);
+                var hosts = new ArrayList<String>(Math.max(0, to - from));
+                var host = new StringBuilder(48);
+                for (int i = from; i < to; i++) {
+                    // scatter neighbouring indexes over the roles and regions
+                    var mixed = (i * 0x9E3779B1) >>> 8;
+                    var number = Integer.toString(i);
+                    host.setLength(0);
+                    host.append(roles[mixed % roles.length]).append('-');
+                    for (int pad = number.length(); pad < 7; pad++) {
+                        host.append('0');
+                    }
+                    host.append(number)
+                        .append('.').append(regions[(mixed / roles.length) % regions.length])
+                        .append('.').append(stages[(mixed >>> 12) % stages.length])
+                        .append(".example.com");
+                    hosts.add(host.toString());
+                }
+                return hosts;
+            }
+        };
+    }
+}
@@ -1,10 +1,7 @@
-
 package com.thecodinginterface.dialogs;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
-import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.event.ActionEvent;
@@ -22,15 +19,55 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
 class CountDownDialog extends Dialog<Integer> {
+    enum Resolution {
+        SECONDS(1),
+        TENTHS(10);
+
+        final int stepsPerSecond;
+
+        Resolution(int stepsPerSecond) {
+            this.stepsPerSecond = stepsPerSecond;
+        }
+
+        long stepNanos() {
+            return SECOND_NANOS / stepsPerSecond;
+        }
+    }
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long FRAME_NANOS = SECOND_NANOS / 60;
+
     private BorderPane root;
     private int startFrom;
+    private Resolution resolution;
     private IntegerProperty current;
-    private Timer timer;
+    private PulseScheduler.Task timer;
+    private Label countDownLbl;
+    private Label statsLbl;
+
+    // every value the label can show is built up front so rendering a frame never allocates
+    private String[] stepTexts;
+    private int shownStep;
+
+    // the count is always derived from a monotonic deadline so a busy FX thread
+    // delays when the label updates but never makes the countdown fall behind
+    private long deadline;
+    private long remainingNanos;
+
+    private long lastPulse;
+    private long maxDriftNanos;
+    private long totalDriftNanos;
+    private int driftSamples;
+    private int droppedFrames;
 
     private static final String PAUSE_TXT = "Pause";
     private static final String START_TXT = "Start";
 
     CountDownDialog(Stage primaryStage, int startFrom, String header, boolean decorated) {
+        this(primaryStage, startFrom, header, decorated, Resolution.SECONDS);
+    }
+
+    CountDownDialog(Stage primaryStage, int startFrom, String header, boolean decorated, Resolution resolution) {
         super();
         initOwner(primaryStage);
 
@@ -38,20 +75,26 @@ class CountDownDialog extends Dialog<Integer> {
             // you can change the dialog decoration style also
             initStyle(StageStyle.UNDECORATED);
         }
-        
+
         this.startFrom = startFrom;
+        this.resolution = resolution;
         current = new SimpleIntegerProperty(startFrom);
+        remainingNanos = startFrom * SECOND_NANOS;
+        stepTexts = buildStepTexts(startFrom, resolution);
+        shownStep = stepTexts.length - 1;
 
         root = new BorderPane();
         root.setTop(new Label(header));
 
-        var countDownLbl = new Label();
-        countDownLbl.textProperty().bind(current.asString());
+        countDownLbl = new Label(stepTexts[shownStep]);
         countDownLbl.setFont(Font.font("Cambria", FontWeight.BOLD, 60));
         var vbox = new VBox(countDownLbl);
         vbox.setAlignment(Pos.CENTER);
         root.setCenter(vbox);
 
+        statsLbl = new Label();
+        root.setBottom(statsLbl);
+
         getDialogPane().setContent(root);
 
         var startStopBtnType = new ButtonType(PAUSE_TXT, ButtonBar.ButtonData.APPLY);
@@ -62,7 +105,7 @@ class CountDownDialog extends Dialog<Integer> {
 
         var startStopBtn = (Button) getDialogPane().lookupButton(startStopBtnType);
         var resetBtn = (Button) getDialogPane().lookupButton(resetBtnType);
-        
+
         startStopBtn.addEventFilter(ActionEvent.ACTION, (evt) -> {
             evt.consume();
             var startCounting = timer == null;
@@ -89,44 +132,126 @@ class CountDownDialog extends Dialog<Integer> {
             if (nv.intValue() == 0) {
               close();
             }
+            updateStats();
+        });
+
+        // the countdown runs while the dialog is up, however it gets closed
+        // (buttons, window X, reaching zero) it must stop ticking and a dialog
+        // that is never shown never holds on to the shared clock
+        showingProperty().addListener((obs, wasShowing, isShowing) -> {
+            if (isShowing) {
+              startTimer();
+            } else {
+              stopTimer();
+            }
         });
+    }
 
-        startTimer();
+    /**
+     * Largest delay between when the display should have changed and when it did.
+     */
+    double getMaxDriftMillis() {
+        return maxDriftNanos / 1_000_000.0;
+    }
+
+    double getAverageDriftMillis() {
+        return driftSamples == 0 ? 0 : totalDriftNanos / (double) driftSamples / 1_000_000.0;
+    }
+
+    /**
+     * Frames missed while rendering at frame rate, always zero at SECONDS resolution.
+     */
+    int getDroppedFrames() {
+        return droppedFrames;
     }
 
     private void startTimer() {
+        startTimer(System.nanoTime());
+    }
+
+    void startTimer(long now) {
         if (timer == null) {
-            timer = new Timer("Custom Dialog Countdown", true);
-            timer.schedule(new CountDownTask(), 1000, 1000);
+            deadline = now + remainingNanos;
+            lastPulse = 0;
+
+            // ticks come from the shared pulse clock rather than a Timer thread per dialog
+            var scheduler = PulseScheduler.shared();
+            if (resolution == Resolution.SECONDS) {
+                // line the ticks up with the whole seconds left after a pause
+                var stepNanos = resolution.stepNanos();
+                var firstTick = remainingNanos % stepNanos == 0 ? stepNanos : remainingNanos % stepNanos;
+                timer = scheduler.schedule(firstTick, stepNanos, this::render);
+            } else {
+                timer = scheduler.schedule(0, 0, this::render);
+            }
         }
     }
 
-    private void stopTimer() {
+    void stopTimer() {
         if (timer != null) {
+            remainingNanos = Math.max(0, deadline - System.nanoTime());
             timer.cancel();
             timer = null;
         }
     }
 
     private void resetTimer() {
+        stopTimer();
+        remainingNanos = startFrom * SECOND_NANOS;
+        shownStep = stepTexts.length - 1;
+        countDownLbl.setText(stepTexts[shownStep]);
         current.set(startFrom);
-        if (timer != null) {
-            stopTimer();
+    }
+
+    void render(long now) {
+        if (resolution != Resolution.SECONDS) {
+            if (lastPulse != 0 && now - lastPulse > FRAME_NANOS + FRAME_NANOS / 2) {
+                droppedFrames += (now - lastPulse) / FRAME_NANOS - 1;
+            }
+            lastPulse = now;
+        }
+
+        var remaining = Math.max(0, deadline - now);
+        var stepNanos = resolution.stepNanos();
+        var step = (int) ((remaining + stepNanos - 1) / stepNanos);
+        if (step == shownStep) {
+            return;
+        }
+
+        // the display should have switched the instant the remaining time dropped
+        // below what it shows, anything after that is drift. When the FX thread
+        // was too busy to show the steps in between, that is the first one missed
+        var drift = now - (deadline - (long) (shownStep - 1) * stepNanos);
+        if (step < shownStep && drift >= 0) {
+            maxDriftNanos = Math.max(maxDriftNanos, drift);
+            totalDriftNanos += drift;
+            driftSamples++;
+        }
+
+        shownStep = step;
+        countDownLbl.setText(stepTexts[step]);
+        current.set((int) ((remaining + SECOND_NANOS - 1) / SECOND_NANOS));
+    }
+
+    private void updateStats() {
+        // only runs when the whole seconds change so it is fine to format here
+        if (resolution == Resolution.SECONDS) {
+            statsLbl.setText(String.format("drift max %.1f ms", getMaxDriftMillis()));
+        } else {
+            statsLbl.setText(String.format("drift max %.1f ms, avg %.1f ms, %d dropped frames",
+                getMaxDriftMillis(), getAverageDriftMillis(), droppedFrames));
         }
     }
 
-    private final class CountDownTask extends TimerTask {
-        @Override
-        public void run() {
-            Platform.runLater(() -> {
-                int currentCnt = current.intValue();
-                if (currentCnt > 0) {
-                    current.set(currentCnt - 1);
-                } else if (currentCnt == 0) {
-
-                }
-            });
+    private static String[] buildStepTexts(int startFrom, Resolution resolution) {
+        var texts = new String[startFrom * resolution.stepsPerSecond + 1];
+        for (int step = 0; step < texts.length; step++) {
+            if (resolution == Resolution.SECONDS) {
+                texts[step] = Integer.toString(step);
+            } else {
+                texts[step] = (step / resolution.stepsPerSecond) + "." + (step % resolution.stepsPerSecond);
+            }
         }
+        return texts;
     }
 }
-
@@ -0,0 +1,150 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import javafx.collections.ListChangeListener;
+import javafx.css.CssParser;
+import javafx.css.Stylesheet;
+import javafx.scene.Scene;
+import javafx.scene.control.DialogPane;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+/**
+ * Measures where CSS time goes, enabled with -Ddialogs.css.profile=true.
+ *
+ * For every stylesheet it is told about it times a parse of the text or
+ * binary form. For the main scene and every dialog it times the first full
+ * CSS pass, run explicitly just before the window shows, and then the CSS and
+ * layout part of every pulse, which JavaFX runs between a scene's pre and
+ * post layout pulse listeners. The report is printed when the app stops.
+ */
+final class CssProfiler {
+    private final Map<String, String> stylesheetLoads = new LinkedHashMap<>();
+    private final Map<String, Stats> firstPass = new LinkedHashMap<>();
+    private final Map<String, Stats> pulses = new LinkedHashMap<>();
+    private final Set<Window> profiled = Collections.newSetFromMap(new WeakHashMap<>());
+
+    static CssProfiler install() {
+        if (!Boolean.getBoolean("dialogs.css.profile")) {
+            return null;
+        }
+        var profiler = new CssProfiler();
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(profiler::watchDialog);
+            }
+        });
+        return profiler;
+    }
+
+    /**
+     * Times parsing the stylesheet at url on its own, outside of any scene.
+     */
+    void profileStylesheet(URL url) {
+        var start = System.nanoTime();
+        try {
+            Stylesheet stylesheet;
+            if (url.getPath().endsWith(".bss")) {
+                stylesheet = Stylesheet.loadBinary(url);
+            } else {
+                stylesheet = new CssParser().parse(url);
+            }
+            stylesheetLoads.put(url.getPath(), String.format("%.2f ms, %d rules",
+                (System.nanoTime() - start) / 1_000_000.0, stylesheet.getRules().size()));
+        } catch (IOException e) {
+            stylesheetLoads.put(url.getPath(), "failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Profiles a scene under the given name, call before its window is shown.
+     */
+    void profileScene(String name, Scene scene) {
+        timeFirstPass(name, scene);
+        timePulses(scene, () -> name);
+    }
+
+    String report() {
+        var lines = new ArrayList<String>();
+        stylesheetLoads.forEach((path, result) -> lines.add(String.format("stylesheet %s parsed in %s", path, result)));
+        firstPass.forEach((name, stats) -> lines.add(String.format("%s first CSS pass: %s", name, stats)));
+        pulses.forEach((name, stats) -> lines.add(String.format("%s CSS and layout per pulse: %s", name, stats)));
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private void watchDialog(Window window) {
+        if (window.getScene() == null || !profiled.add(window)) {
+            return;
+        }
+        var pane = window.getScene().getRoot().lookup(".dialog-pane");
+        if (!(pane instanceof DialogPane)) {
+            return;
+        }
+        // windows are listed once they start showing but before their scene is
+        // sized, which is where the CSS pass would otherwise happen. Pooled dialogs
+        // show again under other titles, each show counts as a first pass for the
+        // title it has then.
+        var dialogPane = (DialogPane) pane;
+        timeFirstPass(dialogName(window, dialogPane), window.getScene());
+        window.addEventHandler(WindowEvent.WINDOW_SHOWING,
+            evt -> timeFirstPass(dialogName(window, dialogPane), window.getScene()));
+        timePulses(window.getScene(), () -> dialogName(window, dialogPane));
+    }
+
+    private void timeFirstPass(String name, Scene scene) {
+        var start = System.nanoTime();
+        scene.getRoot().applyCss();
+        firstPass.computeIfAbsent(name, k -> new Stats()).record(System.nanoTime() - start);
+    }
+
+    private void timePulses(Scene scene, Supplier<String> name) {
+        var pulseStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> pulseStart[0] = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            if (pulseStart[0] != 0) {
+                pulses.computeIfAbsent(name.get(), k -> new Stats()).record(System.nanoTime() - pulseStart[0]);
+                pulseStart[0] = 0;
+            }
+        });
+    }
+
+    private static String dialogName(Window window, DialogPane pane) {
+        var title = window instanceof Stage ? ((Stage) window).getTitle() : null;
+        if (title == null || title.isEmpty()) {
+            title = pane.getHeaderText();
+        }
+        return "dialog " + (title == null || title.isEmpty() ? pane.getClass().getSimpleName() : "'" + title + "'");
+    }
+
+    // running totals, a profiled scene records every pulse for as long as the app runs
+    private static final class Stats {
+        private long count;
+        private long total;
+        private long max;
+
+        void record(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) {
+                return "n/a";
+            }
+            return String.format("n=%d total=%.2fms avg=%.3fms max=%.3fms",
+                count, total / 1_000_000.0, total / (double) count / 1_000_000.0, max / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dialogs shown in the menu, read from the dialogs.catalog resource.
+ *
+ * Startup only needs the names so that is all that gets read up front,
+ * either from the index generated at build time (see processResources in
+ * build.gradle) or, when there is no usable index, by scanning the catalog
+ * for its [section] lines. The index records the size and last modified time
+ * of the catalog it was made from, so checking it costs the same however big
+ * the catalog grows. A dialog's properties are parsed the first time it is
+ * opened.
+ */
+final class DialogCatalog {
+    static final String CATALOG = "dialogs.catalog";
+    static final String INDEX = "dialogs.catalog.idx";
+
+    // "DCIX"
+    private static final int INDEX_MAGIC = 0x44434958;
+    // jars keep times to the even second
+    private static final long MODIFIED_SLACK_MILLIS = 2000;
+
+    private final URL catalogUrl;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, int[]> spans = new HashMap<>();
+    private final Map<String, DialogDefinition> definitions = new HashMap<>();
+
+    private DialogCatalog(URL catalogUrl) {
+        this.catalogUrl = catalogUrl;
+    }
+
+    static DialogCatalog load() {
+        var catalogUrl = DialogCatalog.class.getResource(CATALOG);
+        if (catalogUrl == null) {
+            throw new IllegalStateException(CATALOG + " is missing from the classpath");
+        }
+        return load(catalogUrl, DialogCatalog.class.getResource(INDEX));
+    }
+
+    static DialogCatalog load(URL catalogUrl, URL indexUrl) {
+        var catalog = new DialogCatalog(catalogUrl);
+        try {
+            if (!catalog.readIndex(indexUrl)) {
+                catalog.scan();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + CATALOG, e);
+        }
+        return catalog;
+    }
+
+    List<String> names() {
+        return Collections.unmodifiableList(names);
+    }
+
+    DialogDefinition definition(String name) {
+        return definitions.computeIfAbsent(name, this::parse);
+    }
+
+    private boolean readIndex(URL indexUrl) throws IOException {
+        if (indexUrl == null) {
+            return false;
+        }
+
+        try (var data = new DataInputStream(indexUrl.openStream())) {
+            // an index generated for a different version of the catalog is useless, even
+            // one of the same length would have its sections in the wrong places
+            if (data.readInt() != INDEX_MAGIC) {
+                return false;
+            }
+            var catalogFile = catalogUrl.openConnection();
+            long size;
+            long modified;
+            if (catalogFile instanceof JarURLConnection) {
+                // the connection's own headers describe the jar, not the entry
+                var entry = ((JarURLConnection) catalogFile).getJarEntry();
+                size = entry.getSize();
+                modified = entry.getTime();
+            } else {
+                try (var in = catalogFile.getInputStream()) {
+                    size = catalogFile.getContentLengthLong();
+                    modified = catalogFile.getLastModified();
+                }
+            }
+            if (data.readLong() != size || Math.abs(data.readLong() - modified) >= MODIFIED_SLACK_MILLIS) {
+                return false;
+            }
+            var count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                var name = data.readUTF();
+                names.add(name);
+                spans.put(name, new int[] { data.readInt(), data.readInt() });
+            }
+        }
+        return true;
+    }
+
+    private void scan() throws IOException {
+        try (InputStream in = new BufferedInputStream(catalogUrl.openStream())) {
+            var line = new ByteArrayOutputStream(128);
+            int offset = 0;
+            int lineStart = 0;
+            String current = null;
+            int b;
+            while (true) {
+                b = in.read();
+                if (b == '\n' || b == -1) {
+                    var text = line.toString(StandardCharsets.UTF_8).strip();
+                    if (text.startsWith("[") && text.endsWith("]")) {
+                        if (current != null) {
+                            spans.get(current)[1] = lineStart - spans.get(current)[0];
+                        }
+                        current = text.substring(1, text.length() - 1).strip();
+                        names.add(current);
+                        spans.put(current, new int[] { lineStart, 0 });
+                    }
+                    line.reset();
+                    lineStart = offset + 1;
+                    if (b == -1) {
+                        break;
+                    }
+                } else {
+                    line.write(b);
+                }
+                offset++;
+            }
+            if (current != null) {
+                spans.get(current)[1] = offset - spans.get(current)[0];
+            }
+        }
+    }
+
+    private DialogDefinition parse(String name) {
+        var span = spans.get(name);
+        if (span == null) {
+            throw new IllegalArgumentException(name + " is not in " + CATALOG);
+        }
+
+        byte[] bytes;
+        try (var in = catalogUrl.openStream()) {
+            var toSkip = (long) span[0];
+            while (toSkip > 0) {
+                var skipped = in.skip(toSkip);
+                if (skipped <= 0) {
+                    throw new IOException(CATALOG + " is shorter than its index says");
+                }
+                toSkip -= skipped;
+            }
+            bytes = in.readNBytes(span[1]);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + name + " from " + CATALOG, e);
+        }
+
+        var properties = new LinkedHashMap<String, String>();
+        for (var line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("[")) {
+                continue;
+            }
+            var separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalStateException(String.format("%s has a malformed line in %s: %s", name, CATALOG, line));
+            }
+            properties.put(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+        }
+        return new DialogDefinition(name, properties);
+    }
+}
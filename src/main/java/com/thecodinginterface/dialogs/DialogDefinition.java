@@ -0,0 +1,144 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.ButtonType;
+import javafx.stage.Modality;
+
+/**
+ * Everything dialogs.catalog says about one dialog. Values may use {name},
+ * which is replaced with the dialog's name, and feedback messages may also
+ * use {button} for the ButtonData of the button that closed the dialog.
+ */
+final class DialogDefinition {
+    private static final Map<String, ButtonType> BUTTON_TYPES = Map.of(
+        "OK", ButtonType.OK,
+        "CANCEL", ButtonType.CANCEL,
+        "YES", ButtonType.YES,
+        "NO", ButtonType.NO,
+        "CLOSE", ButtonType.CLOSE,
+        "APPLY", ButtonType.APPLY,
+        "FINISH", ButtonType.FINISH,
+        "NEXT", ButtonType.NEXT,
+        "PREVIOUS", ButtonType.PREVIOUS
+    );
+
+    private final String name;
+    private final Map<String, String> properties;
+
+    DialogDefinition(String name, Map<String, String> properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getType() {
+        return require("type");
+    }
+
+    String getTCIUrl() {
+        return require("tciUrl");
+    }
+
+    String getJavaFXUrl() {
+        return require("javafxUrl");
+    }
+
+    /**
+     * The value for key, or null when the catalog doesn't set it, which for
+     * header text means the header isn't displayed at all.
+     */
+    String get(String key) {
+        var value = properties.get(key);
+        return value != null ? value.replace("{name}", name) : null;
+    }
+
+    String get(String key, String defaultValue) {
+        var value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    int getInt(String key, int defaultValue) {
+        var value = get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        var value = get(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    /**
+     * Everything the catalog says about this dialog in a stable order, it only
+     * changes when the dialog's section in the catalog does.
+     */
+    String fingerprint() {
+        return name + new TreeMap<>(properties);
+    }
+
+    AlertType getAlertType() {
+        return AlertType.valueOf(get("alertType", AlertType.INFORMATION.name()));
+    }
+
+    Modality getModality() {
+        return Modality.valueOf(get("modality", Modality.APPLICATION_MODAL.name()));
+    }
+
+    boolean isBlocking() {
+        return !"nonblocking".equals(get("show", "blocking"));
+    }
+
+    List<ButtonType> getButtons() {
+        var buttons = new ArrayList<ButtonType>();
+        var value = get("buttons");
+        if (value != null) {
+            for (var buttonName : value.split(",")) {
+                var buttonType = BUTTON_TYPES.get(buttonName.strip());
+                if (buttonType == null) {
+                    throw new IllegalArgumentException(String.format("%s has unknown button %s", name, buttonName));
+                }
+                buttons.add(buttonType);
+            }
+        }
+        return buttons;
+    }
+
+    /**
+     * The message to show after the dialog was closed with btnType, looking at
+     * feedback.BUTTON first and falling back to feedback.
+     */
+    Optional<String> getFeedback(ButtonType btnType) {
+        String feedback = null;
+        if (btnType != null) {
+            for (var entry : BUTTON_TYPES.entrySet()) {
+                if (entry.getValue() == btnType) {
+                    feedback = get("feedback." + entry.getKey());
+                }
+            }
+        }
+        if (feedback == null) {
+            feedback = get("feedback");
+        }
+        if (feedback == null) {
+            return Optional.empty();
+        }
+        var buttonData = btnType != null ? btnType.getButtonData().toString() : "";
+        return Optional.of(feedback.replace("{button}", buttonData));
+    }
+
+    private String require(String key) {
+        var value = get(key);
+        if (value == null) {
+            throw new IllegalStateException(String.format("%s is missing %s in the dialog catalog", name, key));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,104 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.control.ListView;
+import javafx.scene.input.KeyCode;
+import javafx.util.Duration;
+
+/**
+ * The dialog options menu. Backed by a ListView so only the visible rows get
+ * a node, however many options there are, and selection lives in the
+ * ListView's selection model so clearing it doesn't touch every row.
+ */
+final class DialogMenu {
+    private static final double CELL_HEIGHT = 45;
+    // how long the pointer or focus has to rest on a row before it counts as a hint
+    private static final Duration HINT_DELAY = Duration.millis(150);
+
+    private final ListView<DialogOption> listView = new ListView<>();
+    private final Map<DialogOption, Integer> indexes = new IdentityHashMap<>();
+    private final PauseTransition hintDelay = new PauseTransition(HINT_DELAY);
+    private DialogOption hinted;
+    private Consumer<DialogOption> onHint = option -> {};
+
+    DialogMenu() {
+        listView.getStyleClass().add("dialog-options");
+        listView.setCellFactory(lv -> new DialogOptionCell(this::hint));
+        // a fixed height lets the ListView skip measuring every row it scrolls past
+        listView.setFixedCellSize(CELL_HEIGHT);
+        listView.setPrefWidth(App.MENU_OPTIONS_WIDTH + 40);
+
+        listView.setOnKeyPressed(evt -> {
+            var selected = listView.getSelectionModel().getSelectedItem();
+            if (selected != null && (evt.getCode() == KeyCode.ENTER || evt.getCode() == KeyCode.SPACE)) {
+                evt.consume();
+                selected.fire();
+            }
+        });
+
+        // sweeping across the menu passes over many rows, only the one it
+        // stops on is passed on
+        hintDelay.setOnFinished(evt -> onHint.accept(hinted));
+        listView.getFocusModel().focusedItemProperty().addListener((obs, oldOption, option) -> {
+            if (option != null) {
+                hint(option);
+            }
+        });
+    }
+
+    /**
+     * Called with the option the user is about to pick, the one hovered or
+     * focused, so whatever it needs can be got ready ahead of the click.
+     */
+    void setOnHint(Consumer<DialogOption> onHint) {
+        this.onHint = onHint;
+    }
+
+    ListView<DialogOption> getView() {
+        return listView;
+    }
+
+    List<DialogOption> getOptions() {
+        return listView.getItems();
+    }
+
+    void addAll(Collection<DialogOption> options) {
+        for (var option : options) {
+            indexes.put(option, indexes.size());
+        }
+        listView.getItems().addAll(options);
+    }
+
+    void select(DialogOption option) {
+        var index = indexes.get(option);
+        if (index != null) {
+            listView.getSelectionModel().select(index.intValue());
+        }
+    }
+
+    /**
+     * Selects option and scrolls it into view without firing it.
+     */
+    void reveal(DialogOption option) {
+        var index = indexes.get(option);
+        if (index != null) {
+            listView.getSelectionModel().select(index.intValue());
+            listView.scrollTo(index.intValue());
+        }
+    }
+
+    void clearSelection() {
+        listView.getSelectionModel().clearSelection();
+    }
+
+    private void hint(DialogOption option) {
+        hinted = option;
+        hintDelay.playFromStart();
+    }
+}
@@ -1,19 +1,33 @@
-
 package com.thecodinginterface.dialogs;
 
-import javafx.scene.control.ToggleButton;
-import javafx.scene.control.ToggleGroup;
+/**
+ * A single entry of the dialog menu. Options are plain model objects, the
+ * DialogMenu only creates DialogOptionCell nodes for the rows on screen.
+ */
+class DialogOption {
+    private final String optionName;
+    private final Runnable callback;
+
+    DialogOption(String optionName, Runnable callback) {
+        this.optionName = optionName;
+        this.callback = callback;
+    }
 
-class DialogOption extends ToggleButton {
+    String getText() {
+        return optionName;
+    }
 
-    DialogOption(String optionName, ToggleGroup tg, Runnable callback) {
-        super(optionName);
-        getStyleClass().add("dialog-option");
-        setToggleGroup(tg);
-        setMinWidth(App.MENU_OPTIONS_WIDTH);
-        setMaxWidth(App.MENU_OPTIONS_WIDTH);
-        setOnAction(evt -> {
+    void fire() {
+        var watchdog = FxWatchdog.installed();
+        if (watchdog != null) {
+            watchdog.runCallback(optionName, callback);
+        } else {
             callback.run();
-        });
+        }
+    }
+
+    @Override
+    public String toString() {
+        return optionName;
     }
 }
@@ -0,0 +1,34 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.function.Consumer;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.input.MouseButton;
+
+class DialogOptionCell extends ListCell<DialogOption> {
+
+    DialogOptionCell(Consumer<DialogOption> onHover) {
+        getStyleClass().add("dialog-option");
+        setMinWidth(App.MENU_OPTIONS_WIDTH);
+        setMaxWidth(App.MENU_OPTIONS_WIDTH);
+
+        // the ListView selects the row on press, the option fires on click
+        // just like the toggle buttons the menu used to be made of
+        setOnMouseClicked(evt -> {
+            if (evt.getButton() == MouseButton.PRIMARY && !isEmpty()) {
+                getItem().fire();
+            }
+        });
+        setOnMouseEntered(evt -> {
+            if (!isEmpty()) {
+                onHover.accept(getItem());
+            }
+        });
+    }
+
+    @Override
+    protected void updateItem(DialogOption option, boolean empty) {
+        super.updateItem(option, empty);
+        setText(empty || option == null ? null : option.getText());
+    }
+}
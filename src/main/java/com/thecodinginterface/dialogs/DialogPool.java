@@ -0,0 +1,215 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceDialog;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.TextInputDialog;
+import javafx.stage.Modality;
+import javafx.stage.WindowEvent;
+
+/**
+ * Hands out Alert, TextInputDialog and ChoiceDialog instances that are reused
+ * once they close, so only the first show of each kind pays for building the
+ * DialogPane, its Stage and the initial CSS and layout passes.
+ *
+ * Instances are reset when they are handed out, callers configure them exactly
+ * as they would a new dialog. The graphic is left alone: an alert's icon comes
+ * from the stylesheet, which only sets it again when the icon's URL changes.
+ *
+ * Set -Ddialogs.pool.disabled=true to always create fresh dialogs and
+ * -Ddialogs.pool.report=true to print the request to shown latencies of
+ * pooled and fresh dialogs on exit.
+ */
+final class DialogPool {
+    private static final String ALERT = "alert";
+    private static final String TEXT_INPUT = "text-input";
+    private static final String CHOICE = "choice";
+
+    private final boolean enabled = !Boolean.getBoolean("dialogs.pool.disabled");
+    private final int maxIdle = Integer.getInteger("dialogs.pool.maxIdle", 2);
+
+    private final Map<String, Deque<Dialog<?>>> idle = new HashMap<>();
+    private final Map<Dialog<?>, String> keys = new IdentityHashMap<>();
+    private final Map<Dialog<?>, Long> requestedAt = new IdentityHashMap<>();
+    private final Map<Dialog<?>, Boolean> reused = new IdentityHashMap<>();
+
+    private final LatencyStats pooledLatency = new LatencyStats();
+    private final LatencyStats freshLatency = new LatencyStats();
+
+    Alert alert(AlertType alertType) {
+        return alert(alertType, Modality.APPLICATION_MODAL);
+    }
+
+    Alert alert(AlertType alertType, Modality modality) {
+        // modality can't be changed once a dialog has been shown so it is part of the key
+        var alert = acquire(ALERT + ":" + modality, () -> {
+            var newAlert = new Alert(alertType);
+            newAlert.initModality(modality);
+            return newAlert;
+        });
+        resetCommon(alert);
+        alert.setAlertType(alertType);
+        alert.getButtonTypes().setAll(defaultButtons(alertType));
+        return alert;
+    }
+
+    TextInputDialog textInput(String initialText) {
+        var txtDlg = acquire(TEXT_INPUT, TextInputDialog::new);
+        resetCommon(txtDlg);
+        txtDlg.getEditor().setText(initialText);
+        return txtDlg;
+    }
+
+    <T> ChoiceDialog<T> choice(T defaultChoice, Collection<T> choices) {
+        ChoiceDialog<T> choiceDlg = acquire(CHOICE, ChoiceDialog<T>::new);
+        resetCommon(choiceDlg);
+        choiceDlg.getItems().setAll(choices);
+        choiceDlg.setSelectedItem(defaultChoice);
+        return choiceDlg;
+    }
+
+    /**
+     * Builds one dialog of each kind, one per FX event so the app stays
+     * responsive while they are created.
+     */
+    void prewarm() {
+        if (!enabled) {
+            return;
+        }
+        List<Runnable> steps = List.of(
+            () -> prewarm(ALERT + ":" + Modality.APPLICATION_MODAL, new Alert(AlertType.INFORMATION)),
+            () -> prewarm(TEXT_INPUT, new TextInputDialog()),
+            () -> prewarm(CHOICE, new ChoiceDialog<Object>())
+        );
+        for (var step : steps) {
+            Platform.runLater(step);
+        }
+    }
+
+    String latencySummary() {
+        return String.format("dialog request to shown: pooled %s, fresh %s", pooledLatency, freshLatency);
+    }
+
+    private void prewarm(String key, Dialog<?> dialog) {
+        track(key, dialog);
+
+        // run the CSS and layout passes now rather than on the first show
+        var pane = dialog.getDialogPane();
+        pane.applyCss();
+        pane.layout();
+
+        idle.computeIfAbsent(key, k -> new ArrayDeque<>()).push(dialog);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <D extends Dialog<?>> D acquire(String key, Supplier<D> factory) {
+        var available = idle.get(key);
+        D dialog;
+        if (enabled && available != null && !available.isEmpty()) {
+            dialog = (D) available.pop();
+            reused.put(dialog, Boolean.TRUE);
+        } else {
+            dialog = factory.get();
+            track(key, dialog);
+            reused.put(dialog, Boolean.FALSE);
+        }
+        requestedAt.put(dialog, System.nanoTime());
+        return dialog;
+    }
+
+    private void track(String key, Dialog<?> dialog) {
+        keys.put(dialog, key);
+
+        var window = dialog.getDialogPane().getScene().getWindow();
+        window.addEventHandler(WindowEvent.WINDOW_SHOWN, evt -> recordShown(dialog));
+
+        dialog.showingProperty().addListener((obs, wasShowing, isShowing) -> {
+            if (!isShowing) {
+                release(dialog);
+            }
+        });
+    }
+
+    private void recordShown(Dialog<?> dialog) {
+        var requested = requestedAt.remove(dialog);
+        if (requested != null) {
+            var stats = Boolean.TRUE.equals(reused.get(dialog)) ? pooledLatency : freshLatency;
+            stats.record(System.nanoTime() - requested);
+        }
+    }
+
+    private void release(Dialog<?> dialog) {
+        // expandable content can be big (see TraceViewer), an idle dialog shouldn't hold on to it
+        dialog.getDialogPane().setExpandableContent(null);
+        dialog.getDialogPane().setExpanded(false);
+
+        var available = idle.computeIfAbsent(keys.get(dialog), k -> new ArrayDeque<>());
+        if (enabled && available.size() < maxIdle && !available.contains(dialog)) {
+            available.push(dialog);
+        } else {
+            // over the cap, let it be garbage collected
+            keys.remove(dialog);
+            reused.remove(dialog);
+            requestedAt.remove(dialog);
+        }
+    }
+
+    private static void resetCommon(Dialog<?> dialog) {
+        dialog.setTitle(null);
+        dialog.setHeaderText(null);
+        dialog.setContentText(null);
+        dialog.setResult(null);
+        dialog.setOnShowing(null);
+        dialog.setOnShown(null);
+        dialog.setOnHiding(null);
+        dialog.setOnHidden(null);
+        dialog.setOnCloseRequest(null);
+        dialog.getDialogPane().setExpandableContent(null);
+        dialog.getDialogPane().setExpanded(false);
+    }
+
+    private static ButtonType[] defaultButtons(AlertType alertType) {
+        // mirrors what the Alert(AlertType) constructor adds
+        switch (alertType) {
+            case NONE:
+                return new ButtonType[0];
+            case CONFIRMATION:
+                return new ButtonType[] { ButtonType.OK, ButtonType.CANCEL };
+            default:
+                return new ButtonType[] { ButtonType.OK };
+        }
+    }
+
+    static final class LatencyStats {
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) {
+                return "n/a";
+            }
+            return String.format("n=%d avg=%.1fms max=%.1fms",
+                count, totalNanos / (double) count / 1_000_000.0, maxNanos / 1_000_000.0);
+        }
+    }
+}
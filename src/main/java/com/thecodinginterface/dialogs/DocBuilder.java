@@ -0,0 +1,282 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders markdown documents to one HTML page per section and indexes them,
+ * run at build time by the generateDocs task in build.gradle:
+ *
+ *   DocBuilder outputDir document.md...
+ *
+ * Sections are split at every heading and keyed by the anchor the heading
+ * gets on the blog (lower case, punctuation dropped, spaces to dashes), which
+ * is what the catalog's tciUrl anchors point at. The first document wins
+ * when two headings make the same anchor, later ones get a number added.
+ * Only the markdown the bundled documents use is understood: headings,
+ * paragraphs, lists, fenced code, inline code, links, bold and italics.
+ */
+final class DocBuilder {
+    private static final Pattern HEADING = Pattern.compile("^(#{1,6})\\s+(.*?)\\s*#*$");
+    private static final Pattern BULLET = Pattern.compile("^\\s*[-*+]\\s+(.*)");
+    private static final Pattern NUMBERED = Pattern.compile("^\\s*(\\d+)[.)]\\s+(.*)");
+    private static final Pattern INLINE_CODE = Pattern.compile("`([^`]+)`");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]+)\\]\\(([^)\\s]+)\\)");
+    private static final Pattern BOLD = Pattern.compile("\\*\\*(.+?)\\*\\*");
+    private static final Pattern ITALIC = Pattern.compile("(^|[^\\w])_(.+?)_(?![\\w])");
+    private static final String STYLE = "body { font-family: sans-serif; margin: 20px 40px; line-height: 1.5; }"
+        + " pre { background: #f4f4f4; padding: 10px; overflow-x: auto; }"
+        + " code { font-family: monospace; } .document { color: #777; font-size: 0.9em; }"
+        + " nav { margin-top: 30px; border-top: 1px solid #ddd; padding-top: 10px; }";
+
+    static final class Page {
+        final DocIndex.Section section;
+        final int level;
+        // the section's markdown below its heading
+        final String markdown;
+
+        Page(DocIndex.Section section, int level, String markdown) {
+            this.section = section;
+            this.level = level;
+            this.markdown = markdown;
+        }
+    }
+
+    private final List<Page> pages = new ArrayList<>();
+    private final Set<String> anchors = new HashSet<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: DocBuilder outputDir document.md...");
+            System.exit(2);
+        }
+        var builder = new DocBuilder();
+        for (int i = 1; i < args.length; i++) {
+            var path = Paths.get(args[i]);
+            builder.add(documentName(path), Files.readString(path, StandardCharsets.UTF_8));
+        }
+        builder.write(Paths.get(args[0]));
+    }
+
+    /**
+     * Splits a markdown document into sections.
+     */
+    void add(String document, String markdown) {
+        String heading = document;
+        int level = 1;
+        var body = new StringBuilder();
+        var inCode = false;
+        for (var line : markdown.split("\r?\n", -1)) {
+            if (line.startsWith("```")) {
+                inCode = !inCode;
+            }
+            var matcher = inCode ? null : HEADING.matcher(line);
+            if (matcher != null && matcher.matches()) {
+                addPage(document, heading, level, body.toString());
+                heading = matcher.group(2);
+                level = matcher.group(1).length();
+                body.setLength(0);
+            } else {
+                body.append(line).append('\n');
+            }
+        }
+        addPage(document, heading, level, body.toString());
+    }
+
+    List<Page> pages() {
+        return pages;
+    }
+
+    DocIndex index() {
+        var sections = new ArrayList<DocIndex.Section>();
+        var texts = new ArrayList<String>();
+        for (var page : pages) {
+            sections.add(page.section);
+            texts.add(page.markdown);
+        }
+        return DocIndex.build(sections, texts);
+    }
+
+    void write(Path outputDir) throws IOException {
+        var docsDir = outputDir.resolve(DocIndex.class.getPackageName().replace('.', '/')).resolve(DocIndex.RESOURCE_DIR);
+        Files.createDirectories(docsDir);
+        for (int i = 0; i < pages.size(); i++) {
+            var previous = i > 0 && sameDocument(i - 1, i) ? pages.get(i - 1) : null;
+            var next = i + 1 < pages.size() && sameDocument(i, i + 1) ? pages.get(i + 1) : null;
+            Files.writeString(docsDir.resolve(pages.get(i).section.page),
+                renderPage(pages.get(i), previous, next), StandardCharsets.UTF_8);
+        }
+        try (var out = Files.newOutputStream(docsDir.resolve(DocIndex.INDEX_RESOURCE.substring(DocIndex.RESOURCE_DIR.length())))) {
+            index().write(out);
+        }
+        System.out.printf("rendered %d sections to %s%n", pages.size(), docsDir);
+    }
+
+    static String slug(String heading) {
+        var slug = heading.toLowerCase().replaceAll("[^a-z0-9 -]", "").strip().replaceAll("\\s+", "-");
+        return slug.isEmpty() ? "section" : slug;
+    }
+
+    static String renderPage(Page page, Page previous, Page next) {
+        var html = new StringBuilder("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>")
+            .append(escape(page.section.heading)).append("</title><style>").append(STYLE).append("</style></head>\n<body>\n")
+            .append("<p class=\"document\">").append(escape(page.section.document)).append("</p>\n")
+            .append(String.format("<h%d id=\"%s\">%s</h%d>%n", page.level, page.section.anchor,
+                inline(page.section.heading), page.level))
+            .append(renderMarkdown(page.markdown));
+        if (previous != null || next != null) {
+            html.append("<nav>");
+            if (previous != null) {
+                html.append("<a href=\"").append(previous.section.page).append("\">&larr; ")
+                    .append(escape(previous.section.heading)).append("</a> ");
+            }
+            if (next != null) {
+                html.append("<a href=\"").append(next.section.page).append("\">")
+                    .append(escape(next.section.heading)).append(" &rarr;</a>");
+            }
+            html.append("</nav>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    /**
+     * Renders the block level markdown of a section.
+     */
+    static String renderMarkdown(String markdown) {
+        var html = new StringBuilder();
+        var paragraph = new StringBuilder();
+        String list = null;
+        var inCode = false;
+        for (var line : markdown.split("\n", -1)) {
+            if (line.startsWith("```")) {
+                if (inCode) {
+                    html.append("</code></pre>\n");
+                } else {
+                    list = closeBlocks(html, paragraph, list);
+                    html.append("<pre><code>");
+                }
+                inCode = !inCode;
+                continue;
+            }
+            if (inCode) {
+                html.append(escape(line)).append('\n');
+                continue;
+            }
+
+            var bullet = BULLET.matcher(line);
+            var numbered = NUMBERED.matcher(line);
+            if (line.isBlank()) {
+                list = closeBlocks(html, paragraph, list);
+            } else if (bullet.matches() || numbered.matches()) {
+                var tag = bullet.matches() ? "ul" : "ol";
+                closeParagraph(html, paragraph);
+                if (!tag.equals(list)) {
+                    closeBlocks(html, paragraph, list);
+                    html.append('<').append(tag);
+                    // numbered steps split up by code blocks carry on counting
+                    if (numbered.matches() && !numbered.group(1).equals("1")) {
+                        html.append(" start=\"").append(numbered.group(1)).append('"');
+                    }
+                    html.append(">\n");
+                    list = tag;
+                }
+                var item = bullet.matches() ? bullet.group(1) : numbered.group(2);
+                html.append("<li>").append(inline(item)).append("</li>\n");
+            } else {
+                if (list != null) {
+                    list = closeBlocks(html, paragraph, list);
+                }
+                if (paragraph.length() > 0) {
+                    paragraph.append(' ');
+                }
+                paragraph.append(line.strip());
+            }
+        }
+        if (inCode) {
+            html.append("</code></pre>\n");
+        }
+        closeBlocks(html, paragraph, list);
+        return html.toString();
+    }
+
+    /**
+     * Renders the inline markdown of a line of text.
+     */
+    static String inline(String text) {
+        // code spans are cut out first so nothing inside them is formatted
+        var codes = new ArrayList<String>();
+        var withoutCode = replace(INLINE_CODE, text, m -> {
+            codes.add(escape(m.group(1)));
+            return "\u0000" + (codes.size() - 1) + "\u0000";
+        });
+        var html = escape(withoutCode);
+        html = replace(LINK, html, m -> "<a href=\"" + m.group(2) + "\">" + m.group(1) + "</a>");
+        html = replace(BOLD, html, m -> "<strong>" + m.group(1) + "</strong>");
+        html = replace(ITALIC, html, m -> m.group(1) + "<em>" + m.group(2) + "</em>");
+        for (int i = 0; i < codes.size(); i++) {
+            html = html.replace("\u0000" + i + "\u0000", "<code>" + codes.get(i) + "</code>");
+        }
+        return html;
+    }
+
+    private void addPage(String document, String heading, int level, String markdown) {
+        // nothing above the first heading
+        if (heading.equals(document) && markdown.isBlank()) {
+            return;
+        }
+        var anchor = slug(heading);
+        for (int n = 1; !anchors.add(anchor); n++) {
+            anchor = slug(heading) + "-" + n;
+        }
+        var section = new DocIndex.Section(anchor, heading, document, anchor + ".html");
+        pages.add(new Page(section, level, markdown));
+    }
+
+    private boolean sameDocument(int a, int b) {
+        return pages.get(a).section.document.equals(pages.get(b).section.document);
+    }
+
+    private static String closeBlocks(StringBuilder html, StringBuilder paragraph, String list) {
+        closeParagraph(html, paragraph);
+        if (list != null) {
+            html.append("</").append(list).append(">\n");
+        }
+        return null;
+    }
+
+    private static void closeParagraph(StringBuilder html, StringBuilder paragraph) {
+        if (paragraph.length() > 0) {
+            html.append("<p>").append(inline(paragraph.toString())).append("</p>\n");
+            paragraph.setLength(0);
+        }
+    }
+
+    private static String documentName(Path path) {
+        var name = path.getFileName().toString();
+        return name.endsWith(".md") ? name.substring(0, name.length() - 3) : name;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String replace(Pattern pattern, String text, Function<Matcher, String> replacer) {
+        var matcher = pattern.matcher(text);
+        var result = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacer.apply(matcher)));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,434 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Disk backed cache for the documentation pages shown in the WebView.
+ *
+ * Remote https URLs are rewritten to the tcicache scheme (see DocCacheUrlHandler)
+ * so every page and asset the WebEngine requests is served from here. Entries
+ * are evicted least recently used first once the cache grows past its size
+ * limit and stale entries are served immediately while being revalidated in
+ * the background, so a missing network only ever costs freshness. A response
+ * bigger than the whole cache is passed through without being stored. An
+ * empty cache is seeded with the pages the build bundles (see snapshotDocs in
+ * build.gradle), so the catalog's documentation shows on a first run offline.
+ */
+class DocCache {
+    static final String SCHEME = "tcicache";
+
+    private static final String SNAPSHOT_INDEX = "doc-snapshot/index.txt";
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final Duration FRESH_FOR = Duration.ofHours(12);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    // absolute links inside cached html / css are pointed back at the cache
+    private static final Pattern ABSOLUTE_LINK = Pattern.compile("([\"'(=]\\s*)https://");
+
+    private static DocCache shared;
+
+    private final Path dir;
+    private final long maxBytes;
+    private final HttpClient client;
+    private final ExecutorService revalidator;
+
+    // access ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    private boolean loaded;
+
+    static synchronized DocCache shared() {
+        if (shared == null) {
+            var defaultDir = Paths.get(System.getProperty("user.home"), ".javafx-dialogs", "doc-cache");
+            var dir = System.getProperty("dialogs.docCache.dir");
+            shared = new DocCache(
+                dir != null ? Paths.get(dir) : defaultDir,
+                Long.getLong("dialogs.docCache.maxBytes", DEFAULT_MAX_BYTES)
+            );
+        }
+        return shared;
+    }
+
+    DocCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        client = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        revalidator = Executors.newSingleThreadExecutor(r -> {
+            var thread = new Thread(r, "Doc Cache Revalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Maps a remote https URL onto the cache scheme, anything else is returned as is.
+     */
+    static String toCacheUrl(String remoteUrl) {
+        if (remoteUrl != null && remoteUrl.startsWith("https://")) {
+            return SCHEME + "://" + remoteUrl.substring("https://".length());
+        }
+        return remoteUrl;
+    }
+
+    static String toRemoteUrl(URL cacheUrl) {
+        // URL#getFile is the path plus query, the fragment never reaches the server
+        return "https://" + cacheUrl.getAuthority() + cacheUrl.getFile();
+    }
+
+    /**
+     * Returns the document for the given remote URL, fetching it on a miss. Called
+     * from the WebEngine's loader threads, never from the FX thread.
+     */
+    Response open(String remoteUrl) {
+        Entry entry;
+        synchronized (this) {
+            ensureLoaded();
+            entry = entries.get(remoteUrl);
+        }
+
+        if (entry == null) {
+            try {
+                entry = fetch(remoteUrl, null);
+            } catch (IOException | InterruptedException e) {
+                return offlinePage(remoteUrl);
+            }
+        } else {
+            touch(entry);
+            if (entry.isStale()) {
+                var staleEntry = entry;
+                revalidator.execute(() -> revalidate(staleEntry));
+            }
+        }
+
+        try {
+            var body = entry.body != null ? entry.body : Files.readAllBytes(bodyFile(entry.key));
+            return new Response(entry.contentType, rewrite(entry.contentType, body));
+        } catch (IOException e) {
+            // the body vanished from under us, forget the entry and report offline
+            remove(entry);
+            return offlinePage(remoteUrl);
+        }
+    }
+
+    synchronized long size() {
+        return totalBytes;
+    }
+
+    private void revalidate(Entry entry) {
+        try {
+            fetch(entry.url, entry);
+        } catch (IOException | InterruptedException e) {
+            // keep serving the stale copy until the network comes back
+        }
+    }
+
+    private Entry fetch(String remoteUrl, Entry cached) throws IOException, InterruptedException {
+        var builder = HttpRequest.newBuilder(URI.create(remoteUrl)).timeout(TIMEOUT).GET();
+        if (cached != null && cached.etag != null) {
+            builder.header("If-None-Match", cached.etag);
+        }
+        if (cached != null && cached.lastModified != null) {
+            builder.header("If-Modified-Since", cached.lastModified);
+        }
+
+        var response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 304 && cached != null) {
+            cached.fetchedAt = System.currentTimeMillis();
+            writeMeta(cached);
+            return cached;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(remoteUrl + " returned HTTP " + response.statusCode());
+        }
+
+        var headers = response.headers();
+        var entry = new Entry(keyFor(remoteUrl), remoteUrl);
+        entry.contentType = headers.firstValue("Content-Type").orElse(guessContentType(remoteUrl));
+        entry.etag = headers.firstValue("ETag").orElse(null);
+        entry.lastModified = headers.firstValue("Last-Modified").orElse(null);
+        entry.fetchedAt = System.currentTimeMillis();
+        store(entry, response.body());
+        return entry;
+    }
+
+    private void store(Entry entry, byte[] body) throws IOException {
+        if (body.length > maxBytes) {
+            // storing it would push out everything else and then the entry itself
+            entry.size = body.length;
+            entry.body = body;
+            synchronized (this) {
+                var previous = entries.get(entry.url);
+                if (previous != null) {
+                    remove(previous);
+                }
+            }
+            return;
+        }
+
+        Files.createDirectories(dir);
+        var tmp = Files.createTempFile(dir, entry.key, ".tmp");
+        Files.write(tmp, body);
+        Files.move(tmp, bodyFile(entry.key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        entry.size = body.length;
+        writeMeta(entry);
+
+        synchronized (this) {
+            var previous = entries.put(entry.url, entry);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += entry.size;
+            evict();
+        }
+    }
+
+    private void evict() {
+        var it = entries.values().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            var eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.size;
+            deleteFiles(eldest.key);
+        }
+    }
+
+    private synchronized void remove(Entry entry) {
+        if (entries.remove(entry.url) != null) {
+            totalBytes -= entry.size;
+        }
+        deleteFiles(entry.key);
+    }
+
+    private void touch(Entry entry) {
+        // the meta file's modified time doubles as the LRU timestamp across restarts
+        try {
+            Files.setLastModifiedTime(metaFile(entry.key), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // only affects eviction order after a restart
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        var found = new ArrayList<Entry>();
+        if (Files.isDirectory(dir)) {
+            try (var metaFiles = Files.newDirectoryStream(dir, "*.meta")) {
+                for (var metaFile : metaFiles) {
+                    var entry = readMeta(metaFile);
+                    if (entry != null && Files.exists(bodyFile(entry.key))) {
+                        found.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                // start with an empty cache rather than fail the page load
+            }
+        }
+
+        found.sort(Comparator.comparingLong(entry -> entry.accessedAt));
+        for (var entry : found) {
+            entries.put(entry.url, entry);
+            totalBytes += entry.size;
+        }
+        evict();
+        seedFromSnapshot();
+    }
+
+    private void seedFromSnapshot() {
+        // index lines are: remote url <TAB> content type <TAB> classpath resource
+        var index = DocCache.class.getResourceAsStream(SNAPSHOT_INDEX);
+        if (index == null) {
+            return;
+        }
+
+        try (var reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                var parts = line.split("\t");
+                if (parts.length != 3 || entries.containsKey(parts[0])) {
+                    continue;
+                }
+                try (InputStream body = DocCache.class.getResourceAsStream("doc-snapshot/" + parts[2])) {
+                    if (body == null) {
+                        continue;
+                    }
+                    var entry = new Entry(keyFor(parts[0]), parts[0]);
+                    entry.contentType = parts[1];
+                    // a snapshot is always due for revalidation once the network is reachable
+                    entry.fetchedAt = 0;
+                    store(entry, body.readAllBytes());
+                }
+            }
+        } catch (IOException e) {
+            // a broken snapshot only means the first views need the network
+        }
+    }
+
+    private Entry readMeta(Path metaFile) {
+        var props = new Properties();
+        try (Reader reader = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+            props.load(reader);
+            var fileName = metaFile.getFileName().toString();
+            var entry = new Entry(fileName.substring(0, fileName.length() - ".meta".length()), props.getProperty("url"));
+            entry.contentType = props.getProperty("contentType");
+            entry.etag = props.getProperty("etag");
+            entry.lastModified = props.getProperty("lastModified");
+            entry.fetchedAt = Long.parseLong(props.getProperty("fetchedAt", "0"));
+            entry.size = Long.parseLong(props.getProperty("size", "0"));
+            entry.accessedAt = Files.getLastModifiedTime(metaFile).toMillis();
+            return entry.url != null ? entry : null;
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void writeMeta(Entry entry) throws IOException {
+        var props = new Properties();
+        props.setProperty("url", entry.url);
+        props.setProperty("contentType", entry.contentType);
+        props.setProperty("fetchedAt", Long.toString(entry.fetchedAt));
+        props.setProperty("size", Long.toString(entry.size));
+        if (entry.etag != null) {
+            props.setProperty("etag", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            props.setProperty("lastModified", entry.lastModified);
+        }
+        try (Writer writer = Files.newBufferedWriter(metaFile(entry.key), StandardCharsets.UTF_8)) {
+            props.store(writer, null);
+        }
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(bodyFile(key));
+            Files.deleteIfExists(metaFile(key));
+        } catch (IOException e) {
+            // left over files are picked up and evicted again on the next start
+        }
+    }
+
+    private Path bodyFile(String key) {
+        return dir.resolve(key + ".body");
+    }
+
+    private Path metaFile(String key) {
+        return dir.resolve(key + ".meta");
+    }
+
+    private static byte[] rewrite(String contentType, byte[] body) {
+        if (!contentType.startsWith("text/html") && !contentType.startsWith("text/css")) {
+            return body;
+        }
+        var charset = charsetOf(contentType);
+        var text = new String(body, charset);
+        return ABSOLUTE_LINK.matcher(text).replaceAll("$1" + SCHEME + "://").getBytes(charset);
+    }
+
+    private static Charset charsetOf(String contentType) {
+        var idx = contentType.toLowerCase().indexOf("charset=");
+        if (idx >= 0) {
+            try {
+                return Charset.forName(contentType.substring(idx + "charset=".length()).replace("\"", "").trim());
+            } catch (IllegalArgumentException e) {
+                // fall through to UTF-8
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static String guessContentType(String url) {
+        var guessed = URLConnection.guessContentTypeFromName(URI.create(url).getPath());
+        return guessed != null ? guessed : "application/octet-stream";
+    }
+
+    private static String keyFor(String url) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            var key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Response offlinePage(String remoteUrl) {
+        var html = "<html><body style=\"font-family: sans-serif; padding: 20px\">"
+            + "<h2>Documentation unavailable offline</h2>"
+            + "<p>" + remoteUrl + " has not been cached yet and the network could not be reached.</p>"
+            + "</body></html>";
+        return new Response("text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static final class Response {
+        final String contentType;
+        final byte[] body;
+
+        Response(String contentType, byte[] body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final String url;
+        String contentType;
+        String etag;
+        String lastModified;
+        long fetchedAt;
+        long accessedAt;
+        long size;
+        // only for responses too big to cache, which are handed straight to the reader
+        byte[] body;
+
+        Entry(String key, String url) {
+            this.key = key;
+            this.url = url;
+        }
+
+        boolean isStale() {
+            return System.currentTimeMillis() - fetchedAt > FRESH_FOR.toMillis();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+
+/**
+ * Serves tcicache:// URLs out of a DocCache. The WebEngine loads every URL
+ * through java.net so registering this handler is all it takes to put the
+ * cache in front of the documentation pages.
+ */
+class DocCacheUrlHandler extends URLStreamHandler {
+    private static boolean installed;
+
+    private final DocCache cache;
+
+    private DocCacheUrlHandler(DocCache cache) {
+        this.cache = cache;
+    }
+
+    static synchronized void install(DocCache cache) {
+        // the stream handler factory can only be set once per JVM
+        if (!installed) {
+            var handler = new DocCacheUrlHandler(cache);
+            URL.setURLStreamHandlerFactory(protocol -> DocCache.SCHEME.equals(protocol) ? handler : null);
+            installed = true;
+        }
+    }
+
+    @Override
+    protected URLConnection openConnection(URL url) {
+        return new CachedConnection(url);
+    }
+
+    private final class CachedConnection extends URLConnection {
+        private DocCache.Response response;
+
+        CachedConnection(URL url) {
+            super(url);
+        }
+
+        @Override
+        public void connect() {
+            if (!connected) {
+                response = cache.open(DocCache.toRemoteUrl(url));
+                connected = true;
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            connect();
+            return new ByteArrayInputStream(response.body);
+        }
+
+        @Override
+        public String getContentType() {
+            connect();
+            return response.contentType;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            connect();
+            return response.body.length;
+        }
+
+        @Override
+        public String getHeaderField(String name) {
+            if ("content-type".equalsIgnoreCase(name)) {
+                return getContentType();
+            }
+            if ("content-length".equalsIgnoreCase(name)) {
+                return Long.toString(getContentLengthLong());
+            }
+            return null;
+        }
+    }
+}
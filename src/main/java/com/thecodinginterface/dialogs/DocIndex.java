@@ -0,0 +1,354 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The bundled documentation, rendered to one HTML page per section by
+ * DocBuilder at build time, and an inverted index for searching it.
+ *
+ * The index is a sorted term list, each term pointing at a run of postings
+ * held in two flat arrays: the section and how much weight the term has in
+ * it, with words from the heading counting more. Searching looks every query
+ * word up with a binary search, the last word as a prefix while it is still
+ * being typed, and only returns sections that have all the words.
+ */
+final class DocIndex {
+    static final String RESOURCE_DIR = "docs/";
+    static final String INDEX_RESOURCE = RESOURCE_DIR + "docs.idx";
+
+    private static final int MAGIC = 0x44444F43;
+    private static final int VERSION = 1;
+    private static final int HEADING_WEIGHT = 5;
+    private static final int MAX_WEIGHT = 255;
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "that", "the", "this", "to", "was", "with");
+
+    static final class Section {
+        final String anchor;
+        final String heading;
+        final String document;
+        // the page relative to RESOURCE_DIR
+        final String page;
+
+        Section(String anchor, String heading, String document, String page) {
+            this.anchor = anchor;
+            this.heading = heading;
+            this.document = document;
+            this.page = page;
+        }
+
+        @Override
+        public String toString() {
+            return heading + " (" + document + ")";
+        }
+    }
+
+    private final List<Section> sections;
+    private final Map<String, Section> byAnchor = new HashMap<>();
+    private final String[] terms;
+    // postings for terms[i] are at postingStart[i] until postingStart[i + 1]
+    private final int[] postingStart;
+    private final int[] postingSection;
+    private final byte[] postingWeight;
+
+    private DocIndex(List<Section> sections, String[] terms, int[] postingStart,
+            int[] postingSection, byte[] postingWeight) {
+        this.sections = sections;
+        this.terms = terms;
+        this.postingStart = postingStart;
+        this.postingSection = postingSection;
+        this.postingWeight = postingWeight;
+        for (var section : sections) {
+            byAnchor.putIfAbsent(section.anchor, section);
+        }
+    }
+
+    /**
+     * The index bundled with the app, empty when the docs were not generated.
+     */
+    static DocIndex load() {
+        var in = DocIndex.class.getResourceAsStream(INDEX_RESOURCE);
+        if (in == null) {
+            return build(List.of(), List.of());
+        }
+        try (in) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + INDEX_RESOURCE, e);
+        }
+    }
+
+    /**
+     * Indexes sections, texts.get(i) being everything below the heading of
+     * sections.get(i).
+     */
+    static DocIndex build(List<Section> sections, List<String> texts) {
+        var postings = new TreeMap<String, TreeMap<Integer, Integer>>();
+        for (int i = 0; i < sections.size(); i++) {
+            var section = i;
+            for (var term : tokenize(sections.get(i).heading)) {
+                postings.computeIfAbsent(term, k -> new TreeMap<>()).merge(section, HEADING_WEIGHT, Integer::sum);
+            }
+            for (var term : tokenize(texts.get(i))) {
+                postings.computeIfAbsent(term, k -> new TreeMap<>()).merge(section, 1, Integer::sum);
+            }
+        }
+
+        var terms = postings.keySet().toArray(new String[0]);
+        var postingStart = new int[terms.length + 1];
+        var total = postings.values().stream().mapToInt(Map::size).sum();
+        var postingSection = new int[total];
+        var postingWeight = new byte[total];
+        var p = 0;
+        for (int t = 0; t < terms.length; t++) {
+            postingStart[t] = p;
+            for (var posting : postings.get(terms[t]).entrySet()) {
+                postingSection[p] = posting.getKey();
+                postingWeight[p] = (byte) Math.min(MAX_WEIGHT, posting.getValue());
+                p++;
+            }
+        }
+        postingStart[terms.length] = p;
+        return new DocIndex(List.copyOf(sections), terms, postingStart, postingSection, postingWeight);
+    }
+
+    void write(OutputStream out) throws IOException {
+        var data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(sections.size());
+        for (var section : sections) {
+            data.writeUTF(section.anchor);
+            data.writeUTF(section.heading);
+            data.writeUTF(section.document);
+            data.writeUTF(section.page);
+        }
+        data.writeInt(terms.length);
+        for (int t = 0; t < terms.length; t++) {
+            data.writeUTF(terms[t]);
+            writeVarInt(data, postingStart[t + 1] - postingStart[t]);
+            // section numbers ascend so the gaps are small
+            var previous = 0;
+            for (int p = postingStart[t]; p < postingStart[t + 1]; p++) {
+                writeVarInt(data, postingSection[p] - previous);
+                data.writeByte(postingWeight[p]);
+                previous = postingSection[p];
+            }
+        }
+        data.flush();
+    }
+
+    static DocIndex read(InputStream in) throws IOException {
+        var data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("not a documentation index this version can read");
+        }
+        var sections = new ArrayList<Section>();
+        var sectionCount = data.readInt();
+        for (int i = 0; i < sectionCount; i++) {
+            sections.add(new Section(data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF()));
+        }
+        var terms = new String[data.readInt()];
+        var postingStart = new int[terms.length + 1];
+        var postingSection = new int[Math.max(16, terms.length * 2)];
+        var postingWeight = new byte[postingSection.length];
+        var p = 0;
+        for (int t = 0; t < terms.length; t++) {
+            terms[t] = data.readUTF();
+            postingStart[t] = p;
+            var count = readVarInt(data);
+            if (p + count > postingSection.length) {
+                var grown = Math.max(postingSection.length * 2, p + count);
+                postingSection = Arrays.copyOf(postingSection, grown);
+                postingWeight = Arrays.copyOf(postingWeight, grown);
+            }
+            var section = 0;
+            for (int i = 0; i < count; i++) {
+                section += readVarInt(data);
+                postingSection[p] = section;
+                postingWeight[p] = data.readByte();
+                p++;
+            }
+        }
+        postingStart[terms.length] = p;
+        return new DocIndex(Collections.unmodifiableList(sections), terms, postingStart,
+            Arrays.copyOf(postingSection, p), Arrays.copyOf(postingWeight, p));
+    }
+
+    List<Section> sections() {
+        return sections;
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    Section section(String anchor) {
+        return byAnchor.get(anchor);
+    }
+
+    /**
+     * The local page for the section a documentation URL's #anchor points at,
+     * or the URL itself when there is no such section.
+     */
+    String localUrl(String url) {
+        var hash = url != null ? url.indexOf('#') : -1;
+        var section = hash >= 0 ? section(url.substring(hash + 1)) : null;
+        return section != null ? pageUrl(section) : url;
+    }
+
+    static String pageUrl(Section section) {
+        var url = DocIndex.class.getResource(RESOURCE_DIR + section.page);
+        return url != null ? url.toExternalForm() : null;
+    }
+
+    /**
+     * The best matching sections for query, at most limit of them.
+     */
+    List<Section> search(String query, int limit) {
+        var words = tokenize(query);
+        // until a space follows it the last word may still be half typed, so it is
+        // kept even when it is a stop word or a single letter so far: "in" may be
+        // on its way to "input"
+        var lastIsPrefix = !query.isEmpty() && !Character.isWhitespace(query.charAt(query.length() - 1));
+        if (lastIsPrefix) {
+            var last = lastWord(query);
+            if (!last.isEmpty() && (words.isEmpty() || !words.get(words.size() - 1).equals(last))) {
+                words.add(last);
+            }
+        }
+        if (words.isEmpty() || sections.isEmpty()) {
+            return List.of();
+        }
+
+        var scores = new int[sections.size()];
+        var matchedWords = new int[sections.size()];
+        var matchedBy = new int[sections.size()];
+        for (int w = 0; w < words.size(); w++) {
+            var word = words.get(w);
+            var from = lowerBound(word);
+            var to = lastIsPrefix && w == words.size() - 1 ? prefixEnd(word, from)
+                : from < terms.length && terms[from].equals(word) ? from + 1 : from;
+            if (from == to) {
+                return List.of();
+            }
+            var wordBit = w + 1;
+            for (int t = from; t < to; t++) {
+                for (int p = postingStart[t]; p < postingStart[t + 1]; p++) {
+                    var section = postingSection[p];
+                    scores[section] += postingWeight[p] & 0xFF;
+                    // a prefix can match several terms in one section, count the word once
+                    if (matchedBy[section] != wordBit) {
+                        matchedBy[section] = wordBit;
+                        matchedWords[section]++;
+                    }
+                }
+            }
+        }
+
+        var hits = new ArrayList<Integer>();
+        for (int s = 0; s < scores.length; s++) {
+            if (matchedWords[s] == words.size()) {
+                hits.add(s);
+            }
+        }
+        hits.sort((a, b) -> scores[a] != scores[b] ? Integer.compare(scores[b], scores[a]) : Integer.compare(a, b));
+        var results = new ArrayList<Section>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            results.add(sections.get(hits.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Lower cased words of two or more letters or digits, leaving out the
+     * most common English ones.
+     */
+    static List<String> tokenize(String text) {
+        var words = new ArrayList<String>();
+        var word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            var c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                if (word.length() > 1 && !STOP_WORDS.contains(word.toString())) {
+                    words.add(word.toString());
+                }
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * The word text ends with, lower cased the way tokenize does it.
+     */
+    private static String lastWord(String text) {
+        var start = text.length();
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+        var word = new StringBuilder(text.length() - start);
+        for (int i = start; i < text.length(); i++) {
+            word.append(Character.toLowerCase(text.charAt(i)));
+        }
+        return word.toString();
+    }
+
+    private int lowerBound(String word) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(word) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int prefixEnd(String prefix, int from) {
+        var end = from;
+        while (end < terms.length && terms[end].startsWith(prefix)) {
+            end++;
+        }
+        return end;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            var b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
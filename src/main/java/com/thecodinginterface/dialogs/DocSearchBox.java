@@ -0,0 +1,59 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.function.Consumer;
+
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+/**
+ * A search field over the bundled documentation. Matching sections are
+ * listed under it as the user types, picking one or pressing enter for the
+ * best match hands the section to onPick.
+ */
+final class DocSearchBox {
+    private static final int MAX_RESULTS = 8;
+
+    private final TextField field = new TextField();
+    private final ContextMenu results = new ContextMenu();
+
+    DocSearchBox(DocIndex index, Consumer<DocIndex.Section> onPick) {
+        field.getStyleClass().add("doc-search");
+        field.setPromptText("Search the docs");
+
+        field.textProperty().addListener((obs, oldText, text) -> {
+            var sections = index.search(text, MAX_RESULTS);
+            if (sections.isEmpty()) {
+                results.hide();
+                return;
+            }
+
+            results.getItems().clear();
+            for (var section : sections) {
+                var item = new MenuItem(section.toString());
+                item.setOnAction(evt -> pick(section, onPick));
+                results.getItems().add(item);
+            }
+            if (!results.isShowing()) {
+                results.show(field, Side.BOTTOM, 0, 0);
+            }
+        });
+
+        field.setOnAction(evt -> {
+            var sections = index.search(field.getText(), 1);
+            if (!sections.isEmpty()) {
+                pick(sections.get(0), onPick);
+            }
+        });
+    }
+
+    TextField getView() {
+        return field;
+    }
+
+    private void pick(DocIndex.Section section, Consumer<DocIndex.Section> onPick) {
+        results.hide();
+        onPick.accept(section);
+    }
+}
@@ -0,0 +1,208 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.LinkedHashMap;
+
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Worker;
+import javafx.scene.layout.Region;
+import javafx.scene.web.WebView;
+
+/**
+ * Keeps documentation pages loaded in off-screen WebViews so switching
+ * between them swaps in a page that is already rendered instead of loading it.
+ *
+ * Pages are prefetched ahead of being asked for and kept in an LRU bounded by
+ * count, -Ddialogs.prefetch.maxPages (default 6), and by an estimate of the
+ * memory they hold, -Ddialogs.prefetch.maxBytes (default 96 MB). WebKit keeps
+ * its memory off the Java heap and doesn't report it so a page is estimated
+ * from its element count and image pixels once loaded. The page on screen is
+ * never evicted. Must only be used from the FX thread.
+ */
+final class DocumentPool {
+    // what a page is assumed to hold until it has loaded and can be measured
+    private static final long ESTIMATED_PAGE_BYTES = 4L * 1024 * 1024;
+    // DOM node plus its render tree and style data, roughly
+    private static final int BYTES_PER_ELEMENT = 2 * 1024;
+    private static final String MEASURE_SCRIPT = "(function() {"
+        + " var pixels = 0;"
+        + " for (var i = 0; i < document.images.length; i++) {"
+        + "  pixels += document.images[i].naturalWidth * document.images[i].naturalHeight;"
+        + " }"
+        + " return document.getElementsByTagName('*').length * " + BYTES_PER_ELEMENT + " + pixels * 4;"
+        + "})()";
+
+    private final Region holder;
+    private final int maxPages;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+    // a blank view ready for the next page, evicted views are recycled into it
+    private WebView spare = new WebView();
+    private Page showing;
+    private long bytes;
+
+    private int hits;
+    private int loadingHits;
+    private int misses;
+    private int prefetches;
+    private int evictions;
+
+    /**
+     * Pages are laid out at the size of holder, where they will be shown.
+     */
+    DocumentPool(Region holder, int maxPages, long maxBytes) {
+        this.holder = holder;
+        this.maxPages = Math.max(1, maxPages);
+        this.maxBytes = maxBytes;
+    }
+
+    static DocumentPool create(Region holder) {
+        return new DocumentPool(holder,
+            Integer.getInteger("dialogs.prefetch.maxPages", 6),
+            Long.getLong("dialogs.prefetch.maxBytes", 96L * 1024 * 1024));
+    }
+
+    /**
+     * The view that is on screen, a blank one until the first page is shown.
+     */
+    WebView current() {
+        return showing != null ? showing.view : spare;
+    }
+
+    /**
+     * The view for url, loading it now unless it was prefetched.
+     */
+    WebView show(String url) {
+        var page = pages.get(url);
+        if (page == null) {
+            misses++;
+            page = open(url);
+        } else if (page.failed) {
+            // the last try failed, maybe the network is back
+            misses++;
+            page.failed = false;
+            page.view.getEngine().load(url);
+        } else if (page.loaded) {
+            hits++;
+        } else {
+            loadingHits++;
+        }
+        showing = page;
+        evict();
+        return page.view;
+    }
+
+    /**
+     * Starts loading url in the background unless it is already pooled.
+     */
+    void prefetch(String url) {
+        // containsKey doesn't count as an access so prefetching keeps the LRU order
+        if (pages.containsKey(url)) {
+            return;
+        }
+        prefetches++;
+        open(url);
+        evict();
+    }
+
+    long pooledBytes() {
+        return bytes;
+    }
+
+    int size() {
+        return pages.size();
+    }
+
+    String summary() {
+        var requests = hits + loadingHits + misses;
+        return String.format("document pool: %d shown, %d already loaded, %d still loading, %d loaded on demand"
+                + " (hit rate %.0f%%), %d prefetched, %d evicted, %d pages holding ~%.1f MB",
+            requests, hits, loadingHits, misses, requests == 0 ? 0 : 100.0 * (hits + loadingHits) / requests,
+            prefetches, evictions, pages.size(), bytes / (1024.0 * 1024.0));
+    }
+
+    private Page open(String url) {
+        var view = spare != null ? spare : new WebView();
+        spare = null;
+        if (view.getParent() == null) {
+            // lay the page out at the size it will be shown at so swapping it in
+            // doesn't reflow it
+            view.resize(holder.getWidth(), holder.getHeight());
+        }
+
+        var page = new Page(view);
+        page.listener = (obs, oldState, state) -> {
+            if (state == Worker.State.SUCCEEDED) {
+                page.loaded = true;
+                resize(page, measure(page));
+            } else if (state == Worker.State.FAILED) {
+                page.failed = true;
+            }
+        };
+        view.getEngine().getLoadWorker().stateProperty().addListener(page.listener);
+        pages.put(url, page);
+        bytes += page.bytes;
+        view.getEngine().load(url);
+        return page;
+    }
+
+    private long measure(Page page) {
+        try {
+            var result = page.view.getEngine().executeScript(MEASURE_SCRIPT);
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+        } catch (RuntimeException e) {
+            // not a page scripts can run in, keep the estimate
+        }
+        return page.bytes;
+    }
+
+    private void resize(Page page, long measuredBytes) {
+        if (page.evicted) {
+            return;
+        }
+        bytes += measuredBytes - page.bytes;
+        page.bytes = measuredBytes;
+        evict();
+    }
+
+    private void evict() {
+        var it = pages.values().iterator();
+        while ((pages.size() > maxPages || bytes > maxBytes) && it.hasNext()) {
+            var page = it.next();
+            if (page == showing) {
+                continue;
+            }
+            it.remove();
+            bytes -= page.bytes;
+            page.evicted = true;
+            evictions++;
+            release(page);
+        }
+    }
+
+    private void release(Page page) {
+        var engine = page.view.getEngine();
+        engine.getLoadWorker().stateProperty().removeListener(page.listener);
+        engine.getLoadWorker().cancel();
+        // an empty document lets WebKit free the old page
+        engine.loadContent("");
+        if (spare == null) {
+            spare = page.view;
+        }
+    }
+
+    private static final class Page {
+        final WebView view;
+        long bytes = ESTIMATED_PAGE_BYTES;
+        boolean loaded;
+        boolean failed;
+        boolean evicted;
+        ChangeListener<Worker.State> listener;
+
+        Page(WebView view) {
+            this.view = view;
+        }
+    }
+}
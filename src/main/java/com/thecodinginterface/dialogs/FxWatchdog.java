@@ -0,0 +1,222 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+
+/**
+ * Keeps an eye on how responsive the JavaFX Application Thread is.
+ *
+ * A background thread posts a heartbeat to the FX thread and, when that isn't
+ * run within the stall threshold, samples the FX thread's stack. Heartbeats
+ * still run inside the nested event loops showAndWait starts so a dialog
+ * waiting on the user isn't a stall, and each stall notes how many of those
+ * loops were running, counted from the sampled stack so the FX thread never
+ * walks its own stack. Pulse intervals come from the PulseScheduler and
+ * DialogOption reports how long each of its callbacks ran.
+ *
+ * Set -Ddialogs.watchdog=true to enable it. Findings are written to a rolling
+ * log under ~/.javafx-dialogs/watchdog (-Ddialogs.watchdog.dir to change),
+ * -Ddialogs.watchdog.stallMillis sets the threshold (default 200) and
+ * -Ddialogs.watchdog.overlay=true shows the live numbers on screen.
+ */
+final class FxWatchdog {
+    private static final long HEARTBEAT_MILLIS = 50;
+    private static final long OVERLAY_REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long SLOW_PULSE_NANOS = TimeUnit.MILLISECONDS.toNanos(34);
+    private static final Logger LOG = Logger.getLogger(FxWatchdog.class.getName());
+
+    private static FxWatchdog installed;
+
+    private final long stallNanos;
+    private final Thread fxThread;
+    private final ScheduledExecutorService monitor;
+
+    // written by the heartbeat on the FX thread, read by the monitor thread
+    private volatile long heartbeatPostedAt;
+    private volatile boolean heartbeatPending;
+    private volatile boolean stallReported;
+
+    // the loop depths are updated by the monitor thread when it samples a stall,
+    // the rest on the FX thread
+    private volatile int loopDepth;
+    private volatile int maxLoopDepth;
+    private volatile int callbackDepth;
+    private String slowestCallback;
+    private long slowestCallbackNanos;
+    private long lastPulse;
+    private long lastPulseIntervalNanos;
+    private long maxPulseIntervalNanos;
+    private int slowPulses;
+    private volatile int stalls;
+    private Label overlay;
+
+    private FxWatchdog(long stallNanos) {
+        this.stallNanos = stallNanos;
+        fxThread = Thread.currentThread();
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "fx-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the watchdog if it is enabled, returns null otherwise. Must be
+     * called on the FX thread.
+     */
+    static FxWatchdog install() {
+        if (installed != null || !Boolean.getBoolean("dialogs.watchdog")) {
+            return installed;
+        }
+        openLog();
+
+        var stallMillis = Long.getLong("dialogs.watchdog.stallMillis", 200);
+        var watchdog = new FxWatchdog(TimeUnit.MILLISECONDS.toNanos(stallMillis));
+        if (Boolean.getBoolean("dialogs.watchdog.overlay")) {
+            watchdog.overlay = new Label();
+            watchdog.overlay.getStyleClass().add("watchdog-overlay");
+            watchdog.overlay.setMouseTransparent(true);
+            PulseScheduler.shared().schedule(OVERLAY_REFRESH_NANOS, now -> watchdog.refreshOverlay());
+        }
+        // ticking every pulse keeps the pulses coming even when nothing changes,
+        // a cost that is only paid while the watchdog is enabled
+        PulseScheduler.shared().schedule(0, watchdog::onPulse);
+        watchdog.monitor.scheduleWithFixedDelay(watchdog::check, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+
+        installed = watchdog;
+        LOG.info(() -> String.format("watchdog started, stall threshold %d ms", stallMillis));
+        return watchdog;
+    }
+
+    /**
+     * The running watchdog, or null when it isn't enabled.
+     */
+    static FxWatchdog installed() {
+        return installed;
+    }
+
+    /**
+     * The on screen readout, or null unless the overlay was asked for.
+     */
+    Label getOverlay() {
+        return overlay;
+    }
+
+    /**
+     * Runs a menu option's callback, timing it and tracking how deeply
+     * callbacks are nested inside each other's dialogs.
+     */
+    void runCallback(String name, Runnable callback) {
+        callbackDepth++;
+        var depth = callbackDepth;
+        var start = System.nanoTime();
+        try {
+            callback.run();
+        } finally {
+            callbackDepth--;
+            var elapsed = System.nanoTime() - start;
+            if (elapsed > slowestCallbackNanos) {
+                slowestCallbackNanos = elapsed;
+                slowestCallback = name;
+            }
+            LOG.fine(() -> String.format("callback '%s' ran %.1f ms at callback depth %d",
+                name, elapsed / 1_000_000.0, depth));
+        }
+    }
+
+    private void onPulse(long now) {
+        if (lastPulse != 0) {
+            lastPulseIntervalNanos = now - lastPulse;
+            maxPulseIntervalNanos = Math.max(maxPulseIntervalNanos, lastPulseIntervalNanos);
+            if (lastPulseIntervalNanos > SLOW_PULSE_NANOS) {
+                slowPulses++;
+            }
+        }
+        lastPulse = now;
+    }
+
+    // monitor thread
+    private void check() {
+        if (!heartbeatPending) {
+            heartbeatPending = true;
+            heartbeatPostedAt = System.nanoTime();
+            Platform.runLater(this::heartbeat);
+            return;
+        }
+
+        var waited = System.nanoTime() - heartbeatPostedAt;
+        if (waited >= stallNanos && !stallReported) {
+            stallReported = true;
+            stalls++;
+            var frames = fxThread.getStackTrace();
+            loopDepth = countNestedLoops(frames);
+            maxLoopDepth = Math.max(maxLoopDepth, loopDepth);
+            var stack = new StringBuilder();
+            for (var frame : frames) {
+                stack.append("\n\tat ").append(frame);
+            }
+            LOG.warning(String.format("FX thread stalled for %.0f ms, callback depth %d, nested loop depth %d%s",
+                waited / 1_000_000.0, callbackDepth, loopDepth, stack));
+        }
+    }
+
+    // FX thread
+    private void heartbeat() {
+        var waited = System.nanoTime() - heartbeatPostedAt;
+        if (stallReported) {
+            LOG.warning(String.format("FX thread recovered after %.0f ms", waited / 1_000_000.0));
+            stallReported = false;
+        }
+        heartbeatPending = false;
+    }
+
+    private void refreshOverlay() {
+        overlay.setText(String.format(
+            "pulse %.1f ms (max %.1f, %d slow)%nloops at last stall %d (max %d), callbacks %d%n"
+                + "slowest callback %s %.0f ms%nstalls %d",
+            lastPulseIntervalNanos / 1_000_000.0, maxPulseIntervalNanos / 1_000_000.0, slowPulses,
+            loopDepth, maxLoopDepth, callbackDepth,
+            slowestCallback != null ? slowestCallback : "-", slowestCallbackNanos / 1_000_000.0,
+            stalls));
+    }
+
+    private static int countNestedLoops(StackTraceElement[] frames) {
+        // showAndWait enters a glass EventLoop per dialog
+        var depth = 0;
+        for (var frame : frames) {
+            if ("com.sun.glass.ui.EventLoop".equals(frame.getClassName()) && "enter".equals(frame.getMethodName())) {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+    private static void openLog() {
+        var dir = Paths.get(System.getProperty("dialogs.watchdog.dir",
+            Paths.get(System.getProperty("user.home"), ".javafx-dialogs", "watchdog").toString()));
+        try {
+            Files.createDirectories(dir);
+            // five files of up to 1 MB each, the oldest is dropped when the last one fills up
+            var handler = new FileHandler(dir.resolve("watchdog%g.log").toString(), 1024 * 1024, 5, true);
+            handler.setFormatter(new SimpleFormatter());
+            handler.setLevel(Level.ALL);
+            LOG.addHandler(handler);
+            LOG.setLevel(Level.ALL);
+            LOG.setUseParentHandlers(false);
+        } catch (IOException e) {
+            // still worth running for the overlay, warnings go to the console instead
+            LOG.log(Level.WARNING, "Unable to open the watchdog log in " + dir, e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+
+/**
+ * Hands out the app's bundled images decoded at the size they are displayed at.
+ *
+ * Images are decoded on JavaFX's background loader straight to the requested
+ * size times the output scale of the window showing them, so neither the FX
+ * thread nor memory ever sees the full size source. Every caller asking for
+ * the same resource at the same size and scale gets the same Image. The
+ * cache is an LRU bounded by the decoded size in bytes,
+ * -Ddialogs.images.maxBytes (default 8 MB); an evicted image stays valid for
+ * whoever already holds it.
+ */
+final class ImageAssets {
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static ImageAssets shared;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    ImageAssets(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    static synchronized ImageAssets shared() {
+        if (shared == null) {
+            shared = new ImageAssets(Long.getLong("dialogs.images.maxBytes", 8L * 1024 * 1024));
+        }
+        return shared;
+    }
+
+    /**
+     * The image at resource, relative to this package, decoded to fit width by
+     * height logical pixels keeping its aspect ratio on a screen with the given
+     * output scale. Zero for either side leaves it to the aspect ratio.
+     */
+    synchronized Image get(String resource, double width, double height, double scale) {
+        var key = new Key(resource, width, height, scale);
+        var entry = cache.get(key);
+        if (entry != null) {
+            return entry.image;
+        }
+
+        var url = ImageAssets.class.getResource(resource);
+        if (url == null) {
+            throw new IllegalArgumentException(resource + " is not a bundled image");
+        }
+        var image = new Image(url.toExternalForm(), width * scale, height * scale, true, true, true);
+        entry = new Entry(image, estimateBytes(width * scale, height * scale));
+        cache.put(key, entry);
+        bytes += entry.bytes;
+
+        // the real size is only known once decoded, correct the estimate then
+        var loaded = entry;
+        image.progressProperty().addListener((obs, oldProgress, progress) -> {
+            if (progress.doubleValue() >= 1 && !image.isError()) {
+                resize(loaded, (long) (image.getWidth() * image.getHeight() * BYTES_PER_PIXEL));
+            }
+        });
+        evict();
+        return image;
+    }
+
+    /**
+     * An ImageView showing the image at width logical pixels wide. The image is
+     * picked once the view is in a window and again whenever that window moves
+     * to a screen with another output scale. Needs the FX toolkit to be running.
+     */
+    ImageView view(String resource, double width) {
+        var imageView = new ImageView();
+        imageView.setPreserveRatio(true);
+        // the image is decoded for the window's scale, this maps it back to logical pixels
+        imageView.setFitWidth(width);
+
+        ChangeListener<Number> onScale = (obs, oldScale, scale) ->
+            imageView.setImage(get(resource, width, 0, scale.doubleValue()));
+        ChangeListener<Window> onWindow = (obs, oldWindow, window) -> {
+            if (oldWindow != null) {
+                oldWindow.outputScaleXProperty().removeListener(onScale);
+            }
+            if (window != null) {
+                window.outputScaleXProperty().addListener(onScale);
+                // a window only knows its scale once shown, most open on the primary screen
+                var scale = window.isShowing() ? window.getOutputScaleX() : Screen.getPrimary().getOutputScaleX();
+                imageView.setImage(get(resource, width, 0, scale));
+            }
+        };
+        imageView.sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(onWindow);
+                onWindow.changed(null, oldScene.getWindow(), null);
+            }
+            if (scene != null) {
+                scene.windowProperty().addListener(onWindow);
+                onWindow.changed(null, null, scene.getWindow());
+            }
+        });
+        return imageView;
+    }
+
+    synchronized long cachedBytes() {
+        return bytes;
+    }
+
+    private synchronized void resize(Entry entry, long actualBytes) {
+        // evicted already, it no longer counts against the cache
+        if (entry.evicted) {
+            return;
+        }
+        bytes += actualBytes - entry.bytes;
+        entry.bytes = actualBytes;
+        evict();
+    }
+
+    private void evict() {
+        var it = cache.values().iterator();
+        // always keep the most recent image even if it alone is over the limit
+        while (bytes > maxBytes && cache.size() > 1 && it.hasNext()) {
+            var evicted = it.next();
+            evicted.evicted = true;
+            bytes -= evicted.bytes;
+            it.remove();
+        }
+    }
+
+    private static long estimateBytes(double width, double height) {
+        var w = width > 0 ? width : height;
+        var h = height > 0 ? height : width;
+        return (long) (Math.max(w, 1) * Math.max(h, 1) * BYTES_PER_PIXEL);
+    }
+
+    private static final class Key {
+        final String resource;
+        final double width;
+        final double height;
+        final double scale;
+
+        Key(String resource, double width, double height, double scale) {
+            this.resource = resource;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            var other = (Key) o;
+            return resource.equals(other.resource) && width == other.width
+                && height == other.height && scale == other.scale;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resource, width, height, scale);
+        }
+    }
+
+    private static final class Entry {
+        final Image image;
+        long bytes;
+        boolean evicted;
+
+        Entry(Image image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records what happens in the app, which dialog was opened and how it was
+ * closed, so a session can be replayed or summed up afterwards.
+ *
+ * Recording is meant for the FX thread and costs a few array stores: events
+ * go into a fixed size ring buffer that a single background thread drains.
+ * Nothing on the recording side locks, allocates or waits, when the writer
+ * falls a whole ring behind events are dropped and counted instead. The
+ * writer appends the events in batches to memory mapped segment files,
+ * starting a new segment when one is full and deleting the oldest past the
+ * limit. JournalReader reads them back.
+ *
+ * Enabled by default, -Ddialogs.journal=false turns it off. Segments go to
+ * ~/.javafx-dialogs/journal (-Ddialogs.journal.dir to change), are
+ * -Ddialogs.journal.segmentBytes in size (default 1 MB) and at most
+ * -Ddialogs.journal.maxSegments (default 16) are kept.
+ */
+final class InteractionJournal implements AutoCloseable {
+    static final int MAGIC = 0x494A4E4C;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".seg";
+    // longer text is cut, a journal is not the place for whole documents
+    static final int MAX_TEXT_BYTES = 1024;
+
+    private static final int MIN_SEGMENT_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    // the ordinal is what gets written so new kinds only ever go on the end
+    enum Kind {
+        SESSION_STARTED, OPENED, BUTTON, INPUT, COUNTDOWN, SESSION_ENDED, PROGRESS
+    }
+
+    static final class Event {
+        final long timeMicros;
+        final Kind kind;
+        final String dialog;
+        final String value;
+
+        Event(long timeMicros, Kind kind, String dialog, String value) {
+            this.timeMicros = timeMicros;
+            this.kind = kind;
+            this.dialog = dialog;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d %s %s%s", timeMicros, kind, dialog, value != null ? " " + value : "");
+        }
+    }
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    // the ring, written only by the recording thread and read only by the writer
+    private final int mask;
+    private final long[] times;
+    private final Kind[] kinds;
+    private final String[] dialogs;
+    private final String[] values;
+    // next slot to record into and next slot to write out, each advanced by its
+    // own thread with an ordered store once the slot is filled or emptied
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile long dropped;
+    private volatile long written;
+
+    private int segment;
+    private MappedByteBuffer buffer;
+
+    InteractionJournal(Path dir, int capacity, int segmentBytes, int maxSegments) throws IOException {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two, not " + capacity);
+        }
+        this.dir = dir;
+        this.segmentBytes = Math.max(MIN_SEGMENT_BYTES, segmentBytes);
+        this.maxSegments = Math.max(1, maxSegments);
+        mask = capacity - 1;
+        times = new long[capacity];
+        kinds = new Kind[capacity];
+        dialogs = new String[capacity];
+        values = new String[capacity];
+
+        Files.createDirectories(dir);
+        // a session always starts a segment of its own, after whatever is there
+        var existing = JournalReader.segments(dir);
+        segment = existing.isEmpty() ? 0 : JournalReader.segmentNumber(existing.get(existing.size() - 1));
+        openSegment();
+
+        writer = new Thread(this::writeLoop, "interaction-journal");
+        writer.setDaemon(true);
+        writer.start();
+        record(Kind.SESSION_STARTED, "", null);
+    }
+
+    /**
+     * Opens the journal the system properties describe, or returns null if it
+     * is turned off or can't be written.
+     */
+    static InteractionJournal open() {
+        if (!Boolean.parseBoolean(System.getProperty("dialogs.journal", "true"))) {
+            return null;
+        }
+        var dir = System.getProperty("dialogs.journal.dir");
+        try {
+            return new InteractionJournal(
+                dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".javafx-dialogs", "journal"),
+                Integer.getInteger("dialogs.journal.capacity", 8192),
+                Integer.getInteger("dialogs.journal.segmentBytes", 1024 * 1024),
+                Integer.getInteger("dialogs.journal.maxSegments", 16));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Interaction journal disabled: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Records an event, from one thread only. Returns false if the ring was
+     * full and the event was dropped.
+     */
+    boolean record(Kind kind, String dialog, String value) {
+        var t = tail.get();
+        if (t - head.get() > mask || closed) {
+            dropped++;
+            return false;
+        }
+        var slot = (int) t & mask;
+        times[slot] = startMillis * 1000 + (System.nanoTime() - startNanos) / 1000;
+        kinds[slot] = kind;
+        dialogs[slot] = dialog;
+        values[slot] = value;
+        // publishes the slot to the writer without a full fence
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    long getDropped() {
+        return dropped;
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    /**
+     * Records the end of the session and waits for the writer to get
+     * everything recorded so far onto disk.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        record(Kind.SESSION_ENDED, "", null);
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("interaction journal: %d events written, %d dropped, segment %d in %s",
+            written, dropped, segment, dir);
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                // read before draining so nothing recorded before close is missed
+                var closing = closed;
+                if (drain() == 0) {
+                    if (closing) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Interaction journal stopped writing: " + e);
+        }
+    }
+
+    private int drain() throws IOException {
+        var h = head.get();
+        var t = tail.get();
+        for (var i = h; i < t; i++) {
+            var slot = (int) i & mask;
+            append(times[slot], kinds[slot], dialogs[slot], values[slot]);
+            // let go of the strings, the slot is free once head passes it
+            dialogs[slot] = null;
+            values[slot] = null;
+        }
+        head.lazySet(t);
+        written += t - h;
+        return (int) (t - h);
+    }
+
+    private void append(long timeMicros, Kind kind, String dialog, String value) throws IOException {
+        var dialogBytes = encode(dialog);
+        var valueBytes = encode(value);
+        // length, time, kind, dialog and value each with a length, a null value is -1
+        var length = 4 + 8 + 1 + 2 + dialogBytes.length + 2 + (valueBytes != null ? valueBytes.length : 0);
+        // the zero length left after the last record marks the end of a segment
+        if (buffer.remaining() < length + 4) {
+            buffer.force();
+            openSegment();
+        }
+        // the length goes in last so a reader never sees half a record
+        var start = buffer.position();
+        buffer.position(start + 4);
+        buffer.putLong(timeMicros);
+        buffer.put((byte) kind.ordinal());
+        buffer.putShort((short) dialogBytes.length);
+        buffer.put(dialogBytes);
+        if (valueBytes == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) valueBytes.length);
+            buffer.put(valueBytes);
+        }
+        buffer.putInt(start, length);
+    }
+
+    private void openSegment() throws IOException {
+        segment++;
+        var path = dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed, it is
+            // unmapped once the buffer is collected
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+
+        var segments = JournalReader.segments(dir);
+        for (var old : segments.subList(0, Math.max(0, segments.size() - maxSegments))) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_TEXT_BYTES) {
+            return bytes;
+        }
+        // cut on a character boundary
+        var end = MAX_TEXT_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        var cut = new byte[end];
+        System.arraycopy(bytes, 0, cut, 0, end);
+        return cut;
+    }
+}
@@ -0,0 +1,170 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.thecodinginterface.dialogs.InteractionJournal.Event;
+import com.thecodinginterface.dialogs.InteractionJournal.Kind;
+
+/**
+ * Reads back the segments an InteractionJournal wrote, oldest first.
+ *
+ * The segment being written can be read while the app is running, reading
+ * stops at the last complete record. Run it on its own to print the journal:
+ *
+ *   JournalReader [dir] [replay|summary]
+ *
+ * where replay prints every event and summary, the default, sums up each
+ * session.
+ */
+final class JournalReader {
+    private final Path dir;
+
+    JournalReader(Path dir) {
+        this.dir = dir;
+    }
+
+    public static void main(String[] args) throws IOException {
+        var dir = args.length > 0 ? Paths.get(args[0])
+            : Paths.get(System.getProperty("user.home"), ".javafx-dialogs", "journal");
+        var reader = new JournalReader(dir);
+        if (args.length > 1 && args[1].equals("replay")) {
+            reader.replay(System.out::println);
+        } else {
+            for (var session : reader.sessions()) {
+                System.out.println(summarize(session));
+            }
+        }
+    }
+
+    /**
+     * The segment files in dir in the order they were written.
+     */
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (var files = Files.list(dir)) {
+            return files
+                .filter(path -> {
+                    var name = path.getFileName().toString();
+                    return name.startsWith(InteractionJournal.SEGMENT_PREFIX)
+                        && name.endsWith(InteractionJournal.SEGMENT_SUFFIX);
+                })
+                .sorted(Comparator.comparingInt(JournalReader::segmentNumber))
+                .collect(Collectors.toList());
+        }
+    }
+
+    static int segmentNumber(Path segment) {
+        var name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(InteractionJournal.SEGMENT_PREFIX.length(),
+            name.length() - InteractionJournal.SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Hands every event in the journal to consumer, oldest first.
+     */
+    void replay(Consumer<Event> consumer) throws IOException {
+        for (var segment : segments(dir)) {
+            ByteBuffer buffer;
+            try (var channel = FileChannel.open(segment)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.remaining() < InteractionJournal.HEADER_BYTES
+                    || buffer.getInt() != InteractionJournal.MAGIC
+                    || buffer.getInt() != InteractionJournal.VERSION) {
+                // not a segment this version wrote
+                continue;
+            }
+            Event event;
+            while ((event = next(buffer)) != null) {
+                consumer.accept(event);
+            }
+        }
+    }
+
+    /**
+     * The journal's events split into sessions, each starting with the
+     * SESSION_STARTED event.
+     */
+    List<List<Event>> sessions() throws IOException {
+        var sessions = new ArrayList<List<Event>>();
+        replay(event -> {
+            // the oldest segments may have been deleted mid session
+            if (event.kind == Kind.SESSION_STARTED || sessions.isEmpty()) {
+                sessions.add(new ArrayList<>());
+            }
+            sessions.get(sessions.size() - 1).add(event);
+        });
+        return sessions;
+    }
+
+    /**
+     * How often each thing happened in events, keyed by dialog then by what
+     * happened, e.g. "Info Alert" -> {"OPENED" -> 3, "BUTTON OK" -> 2}.
+     */
+    static Map<String, Map<String, Integer>> aggregate(List<Event> events) {
+        var counts = new TreeMap<String, Map<String, Integer>>();
+        for (var event : events) {
+            if (event.kind == Kind.SESSION_STARTED || event.kind == Kind.SESSION_ENDED) {
+                continue;
+            }
+            // typed text and countdown values are too varied to count one by one
+            var what = event.kind == Kind.BUTTON ? "BUTTON " + event.value : event.kind.name();
+            counts.computeIfAbsent(event.dialog, k -> new TreeMap<>()).merge(what, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    static String summarize(List<Event> session) {
+        var summary = new StringBuilder();
+        var first = session.get(0);
+        var last = session.get(session.size() - 1);
+        summary.append(String.format("session of %d events over %.1f s%s%n", session.size(),
+            (last.timeMicros - first.timeMicros) / 1_000_000.0,
+            last.kind == Kind.SESSION_ENDED ? "" : " (did not end cleanly)"));
+        aggregate(session).forEach((dialog, counts) ->
+            summary.append(String.format("  %-24s %s%n", dialog, counts)));
+        return summary.toString();
+    }
+
+    private static Event next(ByteBuffer buffer) {
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        var start = buffer.position();
+        var length = buffer.getInt();
+        // zero is where the writer hasn't got to yet
+        if (length <= 0 || length > buffer.remaining() + 4) {
+            return null;
+        }
+        var timeMicros = buffer.getLong();
+        var kind = Kind.values()[buffer.get()];
+        var dialog = text(buffer, buffer.getShort());
+        var value = text(buffer, buffer.getShort());
+        buffer.position(start + length);
+        return new Event(timeMicros, kind, dialog, value);
+    }
+
+    private static String text(ByteBuffer buffer, short length) {
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,271 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * A ChoiceDialog for pick-lists far too long for a ComboBox: hosts,
+ * accounts, SKUs, a million of them.
+ *
+ * Items come from a ChoiceSource and are filtered with its ChoiceIndex on a
+ * background thread as the user types. Only the newest query counts, a
+ * filter still running when the next letter is typed stops where it is and
+ * its result is dropped. Matches are item numbers in an int array shown
+ * through a ListView with a fixed row height, so only the rows on screen
+ * are ever read from the source, a page at a time on the background thread
+ * while their rows say Loading. The result is the selected item, or the first
+ * match when nothing is selected, OK waits for its page if need be.
+ */
+class LargeChoiceDialog extends Dialog<String> {
+    private static final double ROW_HEIGHT = 24;
+    private static final int PAGE = 256;
+    private static final int CACHED_PAGES = 8;
+    private static final String LOADING_TXT = "Loading...";
+
+    private static ExecutorService background;
+
+    private final ListView<Integer> listView = new ListView<>();
+    private final TextField filterField = new TextField();
+    private final Label statusLbl = new Label("Indexing...");
+    private final AtomicInteger generation = new AtomicInteger();
+    // the few pages around what is on screen, FX thread only
+    private final Map<Integer, List<String>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<String>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+    // pages asked of the source that have yet to arrive
+    private final Set<Integer> loadingPages = new HashSet<>();
+    // the row OK is waiting on, -1 when it isn't waiting
+    private int resultRow = -1;
+
+    private ChoiceIndex index;
+    private String lastQuery;
+    private int[] matches = new int[0];
+
+    LargeChoiceDialog(Stage primaryStage, String header, CompletableFuture<ChoiceIndex> futureIndex) {
+        super();
+        initOwner(primaryStage);
+        setTitle(header);
+        setHeaderText(header);
+
+        filterField.setPromptText("Type to filter");
+        filterField.setDisable(true);
+        filterField.textProperty().addListener((obs, oldQuery, query) -> filter(query));
+        filterField.setOnKeyPressed(evt -> {
+            if (evt.getCode() == KeyCode.DOWN) {
+                evt.consume();
+                listView.requestFocus();
+            }
+        });
+
+        listView.setFixedCellSize(ROW_HEIGHT);
+        listView.setPrefSize(460, ROW_HEIGHT * 14);
+        listView.setPlaceholder(new Label("Nothing matches"));
+        listView.setCellFactory(lv -> new ItemCell());
+        listView.setOnKeyPressed(evt -> {
+            if (evt.getCode() == KeyCode.ENTER) {
+                evt.consume();
+                pressOk();
+            }
+        });
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        var content = new VBox(8, filterField, listView, statusLbl);
+        content.setPadding(new Insets(10));
+        getDialogPane().setContent(content);
+        getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        // the result converter can't wait, so OK only goes through once the
+        // chosen item's page is here and presses itself again when it arrives
+        getDialogPane().lookupButton(ButtonType.OK).addEventFilter(ActionEvent.ACTION, evt -> {
+            var row = chosenRow();
+            if (row >= 0 && item(row) == null) {
+                evt.consume();
+                resultRow = row;
+            }
+        });
+
+        setResultConverter((btnType) -> {
+            var row = chosenRow();
+            if (btnType != ButtonType.OK || row < 0) {
+                return null;
+            }
+            return item(row);
+        });
+
+        // whatever is still being filtered once the dialog closes is not wanted any more
+        showingProperty().addListener((obs, wasShowing, isShowing) -> {
+            if (!isShowing) {
+                generation.incrementAndGet();
+                resultRow = -1;
+            }
+        });
+
+        futureIndex.thenAccept(built -> Platform.runLater(() -> ready(built)));
+    }
+
+    /**
+     * Builds the index for source on the dialog's background thread, callers
+     * keep the future to show the same items again without rebuilding it.
+     */
+    static CompletableFuture<ChoiceIndex> index(ChoiceSource source) {
+        return CompletableFuture.supplyAsync(() -> ChoiceIndex.build(source), background());
+    }
+
+    private void ready(ChoiceIndex built) {
+        index = built;
+        filterField.setDisable(false);
+        filterField.requestFocus();
+        filter(filterField.getText());
+    }
+
+    private void filter(String query) {
+        if (index == null) {
+            return;
+        }
+        var current = generation.incrementAndGet();
+        var searched = index;
+        // a longer query can only match what the shorter one did
+        var within = lastQuery != null && !lastQuery.isEmpty() && query.contains(lastQuery) ? matches : null;
+        background().execute(() -> {
+            var startedAt = System.nanoTime();
+            var found = searched.filter(query, within, () -> generation.get() != current);
+            if (found == null) {
+                return;
+            }
+            var tookNanos = System.nanoTime() - startedAt;
+            Platform.runLater(() -> {
+                if (generation.get() == current) {
+                    show(query, found, tookNanos);
+                }
+            });
+        });
+    }
+
+    private void show(String query, int[] found, long tookNanos) {
+        lastQuery = query;
+        matches = found;
+        // a read only view over the int array, nothing is boxed until a cell asks for its row
+        listView.setItems(FXCollections.observableList(new AbstractList<Integer>() {
+            @Override
+            public Integer get(int i) {
+                return found[i];
+            }
+
+            @Override
+            public int size() {
+                return found.length;
+            }
+        }));
+        if (found.length > 0) {
+            listView.getSelectionModel().select(0);
+            listView.scrollTo(0);
+        }
+        statusLbl.setText(String.format("%,d of %,d match (%.1f ms)",
+            found.length, index.size(), tookNanos / 1_000_000.0));
+    }
+
+    private int chosenRow() {
+        if (matches.length == 0) {
+            return -1;
+        }
+        var selected = listView.getSelectionModel().getSelectedItem();
+        return selected != null ? selected : matches[0];
+    }
+
+    /**
+     * The item if its page is here, otherwise null and the page is fetched
+     * on the background thread, a source may have to go to a database for it.
+     */
+    private String item(int item) {
+        var pageNumber = item / PAGE;
+        var page = pages.get(pageNumber);
+        if (page != null) {
+            return page.get(item % PAGE);
+        }
+        if (loadingPages.add(pageNumber)) {
+            var source = index.source();
+            background().execute(() -> {
+                var loaded = source.page(pageNumber * PAGE, PAGE);
+                Platform.runLater(() -> pageLoaded(pageNumber, loaded));
+            });
+        }
+        return null;
+    }
+
+    private void pageLoaded(int pageNumber, List<String> page) {
+        loadingPages.remove(pageNumber);
+        pages.put(pageNumber, page);
+        listView.refresh();
+        if (resultRow >= 0 && resultRow / PAGE == pageNumber) {
+            resultRow = -1;
+            pressOk();
+        }
+    }
+
+    private void pressOk() {
+        var okBtn = getDialogPane().lookupButton(ButtonType.OK);
+        if (okBtn instanceof Button) {
+            ((Button) okBtn).fire();
+        }
+    }
+
+    private static synchronized ExecutorService background() {
+        if (background == null) {
+            background = Executors.newSingleThreadExecutor(runnable -> {
+                var thread = new Thread(runnable, "choice-filter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    private final class ItemCell extends ListCell<Integer> {
+        ItemCell() {
+            setOnMouseClicked(evt -> {
+                if (evt.getButton() == MouseButton.PRIMARY && evt.getClickCount() == 2 && !isEmpty()) {
+                    pressOk();
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(Integer row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                setText(null);
+            } else {
+                var item = item(row);
+                setText(item != null ? item : LOADING_TXT);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.thecodinginterface.dialogs;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * Watches for objects that should come and go but pile up instead.
+ *
+ * Objects are tracked through weak references so tracking never keeps
+ * anything alive. Each sample records heap use, the live thread count and
+ * how many tracked objects of each category are still reachable, plus any
+ * extra gauges the caller hands in. The report fits a line through the
+ * samples after warm up and names whatever keeps growing, along with the
+ * oldest instances that are still around.
+ */
+final class LeakTracker {
+    // growth per 1000 cycles above which a count is reported as a suspect
+    private static final double SUSPECT_GROWTH_PER_1000 = 5;
+    private static final double SUSPECT_HEAP_GROWTH_PER_1000 = 1024 * 1024;
+    private static final int OLDEST_SHOWN = 5;
+
+    // WeakHashMap keys go by equals but nothing tracked here overrides it
+    private final Map<String, WeakHashMap<Object, Integer>> tracked = new TreeMap<>();
+    private final List<Sample> samples = new ArrayList<>();
+
+    static final class Sample {
+        final int cycle;
+        final Map<String, Long> values;
+
+        Sample(int cycle, Map<String, Long> values) {
+            this.cycle = cycle;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Starts watching an object, remembering the cycle it was first seen in.
+     */
+    void track(String category, Object object, int cycle) {
+        tracked.computeIfAbsent(category, k -> new WeakHashMap<>()).putIfAbsent(object, cycle);
+    }
+
+    int liveCount(String category) {
+        var objects = tracked.get(category);
+        return objects != null ? objects.size() : 0;
+    }
+
+    Sample sample(int cycle, Map<String, Long> gauges) {
+        var values = new LinkedHashMap<String, Long>();
+        values.put("heapUsedBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        values.put("liveThreads", (long) ManagementFactory.getThreadMXBean().getThreadCount());
+        for (var category : tracked.keySet()) {
+            values.put("live" + category, (long) liveCount(category));
+        }
+        values.putAll(gauges);
+
+        var sample = new Sample(cycle, values);
+        samples.add(sample);
+        return sample;
+    }
+
+    List<Sample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Least squares growth of a sampled value per 1000 cycles, ignoring the
+     * first quarter of the samples while caches and pools fill up.
+     */
+    double growthPer1000(String name) {
+        var from = samples.size() / 4;
+        var n = 0;
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for (int i = from; i < samples.size(); i++) {
+            var value = samples.get(i).values.get(name);
+            if (value == null) {
+                continue;
+            }
+            double x = samples.get(i).cycle;
+            n++;
+            sumX += x;
+            sumY += value;
+            sumXY += x * value;
+            sumXX += x * x;
+        }
+        var denominator = n * sumXX - sumX * sumX;
+        if (n < 2 || denominator == 0) {
+            return 0;
+        }
+        return (n * sumXY - sumX * sumY) / denominator * 1000;
+    }
+
+    /**
+     * Every sampled value that grew faster than it should have.
+     */
+    List<String> suspects() {
+        var suspects = new ArrayList<String>();
+        if (samples.isEmpty()) {
+            return suspects;
+        }
+        for (var name : samples.get(samples.size() - 1).values.keySet()) {
+            var limit = name.equals("heapUsedBytes") ? SUSPECT_HEAP_GROWTH_PER_1000 : SUSPECT_GROWTH_PER_1000;
+            if (growthPer1000(name) > limit) {
+                suspects.add(name);
+            }
+        }
+        return suspects;
+    }
+
+    String report() {
+        var report = new StringBuilder();
+        if (samples.isEmpty()) {
+            return "no samples taken";
+        }
+        var first = samples.get(0);
+        var last = samples.get(samples.size() - 1);
+        report.append(String.format("%d samples over cycles %d to %d%n", samples.size(), first.cycle, last.cycle));
+        for (var name : last.values.keySet()) {
+            report.append(String.format("  %-24s first %12d last %12d growth/1000 cycles %12.1f%n",
+                name, first.values.getOrDefault(name, 0L), last.values.get(name), growthPer1000(name)));
+        }
+
+        var suspects = suspects();
+        if (suspects.isEmpty()) {
+            report.append("no leak suspects\n");
+        }
+        for (var suspect : suspects) {
+            report.append("LEAK SUSPECT ").append(suspect).append('\n');
+            var category = suspect.startsWith("live") ? suspect.substring("live".length()) : null;
+            if (category != null && tracked.containsKey(category)) {
+                appendOldest(report, tracked.get(category));
+            }
+        }
+        return report.toString();
+    }
+
+    String toCsv() {
+        var csv = new StringBuilder("cycle");
+        if (samples.isEmpty()) {
+            return csv.append('\n').toString();
+        }
+        var names = samples.get(samples.size() - 1).values.keySet();
+        for (var name : names) {
+            csv.append(',').append(name);
+        }
+        csv.append('\n');
+        for (var sample : samples) {
+            csv.append(sample.cycle);
+            for (var name : names) {
+                csv.append(',').append(sample.values.getOrDefault(name, 0L));
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static void appendOldest(StringBuilder report, WeakHashMap<Object, Integer> objects) {
+        var oldest = new ArrayList<>(objects.entrySet());
+        oldest.sort(Map.Entry.comparingByValue());
+        for (int i = 0; i < oldest.size() && i < OLDEST_SHOWN; i++) {
+            var entry = oldest.get(i);
+            report.append(String.format("    still reachable since cycle %d: %s@%x%n", entry.getValue(),
+                entry.getKey().getClass().getName(), System.identityHashCode(entry.getKey())));
+        }
+    }
+}
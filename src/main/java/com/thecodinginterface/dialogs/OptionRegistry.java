@@ -0,0 +1,308 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Looks up dialog options by name.
+ *
+ * Exact lookups go through a case-folded hash index. Suggestions come from a
+ * prefix trie that holds every name once per word, so "header" finds
+ * "Alert (No Header)", and that is searched with a Levenshtein row per node
+ * so small typos still match. The search goes best first, the branches
+ * closest to the query are followed before any others, so a large trie
+ * doesn't spend its time on branches that can't match.
+ */
+final class OptionRegistry<T> {
+    private final Map<String, Entry<T>> byFoldedName = new HashMap<>();
+    private final Node<T> root = new Node<>();
+
+    // bumped on every registration so the per node completion caches rebuild lazily
+    private int version;
+
+    void register(String name, T value) {
+        var folded = fold(name);
+        var entry = new Entry<T>(name, value);
+        if (byFoldedName.putIfAbsent(folded, entry) != null) {
+            throw new IllegalArgumentException("An option named " + name + " is already registered");
+        }
+        version++;
+
+        // index from the start of the name and from the start of every later word
+        for (int i = 0; i < folded.length(); i++) {
+            if (i == 0 || (folded.charAt(i - 1) == ' ' && folded.charAt(i) != ' ')) {
+                insert(folded, i, entry, i == 0);
+            }
+        }
+    }
+
+    Optional<T> find(String name) {
+        var entry = byFoldedName.get(fold(name));
+        return entry != null ? Optional.of(entry.value) : Optional.empty();
+    }
+
+    int size() {
+        return byFoldedName.size();
+    }
+
+    /**
+     * Names that start with the query, or with something a typo or two away from
+     * it, best matches first.
+     */
+    List<String> suggest(String query, int limit) {
+        var folded = fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        var scores = new LinkedHashMap<Entry<T>, Integer>();
+        var exact = byFoldedName.get(folded);
+        if (exact != null) {
+            scores.put(exact, -1);
+        }
+
+        // plain prefix matches first, that is a single walk down the trie
+        var node = root;
+        for (int i = 0; i < folded.length() && node != null; i++) {
+            node = node.child(folded.charAt(i));
+        }
+        if (node != null) {
+            collect(node, 0, limit, scores);
+        }
+
+        // then the typo tolerant search
+        var maxDistance = folded.length() <= 3 ? 0 : folded.length() <= 7 ? 1 : 2;
+        if (maxDistance > 0) {
+            new FuzzySearch(folded, maxDistance, limit, scores).run();
+        }
+
+        var ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Entry<T>, Integer>>comparingInt(Map.Entry::getValue)
+            .thenComparingInt(e -> e.getKey().name.length())
+            .thenComparing(e -> e.getKey().name));
+
+        var names = new ArrayList<String>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            names.add(ranked.get(i).getKey().name);
+        }
+        return names;
+    }
+
+    private final class FuzzySearch {
+        // only a backstop, best first reaches the matches long before this
+        private static final int MAX_VISITS = 20_000;
+
+        final String query;
+        final int maxDistance;
+        final int limit;
+        final Map<Entry<T>, Integer> scores;
+        final int maxDepth;
+
+        FuzzySearch(String query, int maxDistance, int limit, Map<Entry<T>, Integer> scores) {
+            this.query = query;
+            this.maxDistance = maxDistance;
+            this.limit = limit;
+            this.scores = scores;
+            maxDepth = query.length() + maxDistance;
+        }
+
+        void run() {
+            // lowest bound first, deepest first among equals so a close branch is followed to its end
+            var queue = new PriorityQueue<Step<T>>(Comparator.<Step<T>>comparingInt(step -> step.rowMin)
+                .thenComparingInt(step -> -step.depth));
+            var firstRow = new int[query.length() + 1];
+            for (int i = 0; i <= query.length(); i++) {
+                firstRow[i] = i;
+            }
+            queue.add(new Step<>(root, 0, firstRow, 0));
+
+            var bound = 0;
+            var budget = MAX_VISITS;
+            while (!queue.isEmpty() && budget-- > 0) {
+                var step = queue.poll();
+                // a branch can't end up closer than its row minimum, so once enough
+                // names are at least as good as everything left in the queue the search is done
+                if (step.rowMin > bound) {
+                    bound = step.rowMin;
+                    if (settled(bound)) {
+                        return;
+                    }
+                }
+
+                var distance = step.row[query.length()];
+                if (step.depth > 0 && distance > 0 && distance <= maxDistance) {
+                    // the path to this node is close enough to the query, everything below it matches
+                    collect(step.node, distance, limit, scores);
+                    if (settled(bound)) {
+                        return;
+                    }
+                }
+                if (step.depth < maxDepth) {
+                    for (int i = 0; i < step.node.keys.length; i++) {
+                        var child = next(step, step.node.children[i], step.node.keys[i]);
+                        if (child.rowMin <= maxDistance) {
+                            queue.add(child);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Step<T> next(Step<T> parent, Node<T> node, char ch) {
+            var previousRow = parent.row;
+            var row = new int[previousRow.length];
+            row[0] = parent.depth + 1;
+            var rowMin = row[0];
+            for (int i = 1; i < row.length; i++) {
+                var substitution = previousRow[i - 1] + (query.charAt(i - 1) == ch ? 0 : 1);
+                row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+                rowMin = Math.min(rowMin, row[i]);
+            }
+            return new Step<>(node, parent.depth + 1, row, rowMin);
+        }
+
+        private boolean settled(int bound) {
+            // the best score anything from here on can get is 2 * bound, see collect
+            var asGood = 0;
+            for (var score : scores.values()) {
+                if (score <= bound * 2) {
+                    asGood++;
+                }
+            }
+            return asGood >= limit;
+        }
+    }
+
+    private static final class Step<T> {
+        final Node<T> node;
+        final int depth;
+        // the Levenshtein row of the path to node against the query
+        final int[] row;
+        final int rowMin;
+
+        Step(Node<T> node, int depth, int[] row, int rowMin) {
+            this.node = node;
+            this.depth = depth;
+            this.row = row;
+            this.rowMin = rowMin;
+        }
+    }
+
+    private void collect(Node<T> node, int distance, int limit, Map<Entry<T>, Integer> scores) {
+        var completions = node.completions(version);
+        for (int i = 0; i < completions.length && i < limit; i++) {
+            var completion = completions[i];
+            // matches on a later word rank just behind matches on the whole name
+            var score = distance * 2 + (completion.nameStart ? 0 : 1);
+            var previous = scores.get(completion.entry);
+            if (previous == null || score < previous) {
+                scores.put(completion.entry, score);
+            }
+        }
+    }
+
+    private void insert(String folded, int from, Entry<T> entry, boolean nameStart) {
+        var node = root;
+        for (int i = from; i < folded.length(); i++) {
+            node = node.childFor(folded.charAt(i));
+        }
+        node.addEntry(entry, nameStart);
+    }
+
+    private static String fold(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry<T> {
+        final String name;
+        final T value;
+
+        Entry(String name, T value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    private static final class Completion<T> {
+        final Entry<T> entry;
+        final boolean nameStart;
+
+        Completion(Entry<T> entry, boolean nameStart) {
+            this.entry = entry;
+            this.nameStart = nameStart;
+        }
+    }
+
+    private static final class Node<T> {
+        // how many of the shortest completions each node remembers for suggestions
+        private static final int MAX_COMPLETIONS = 32;
+
+        // sorted parallel arrays keep the tens of thousands of nodes small
+        char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        Node<T>[] children = new Node[0];
+
+        List<Completion<T>> here = new ArrayList<>(1);
+
+        Completion<T>[] completions;
+        int completionsVersion = -1;
+
+        Node<T> child(char ch) {
+            var idx = Arrays.binarySearch(keys, ch);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        Node<T> childFor(char ch) {
+            var idx = Arrays.binarySearch(keys, ch);
+            if (idx >= 0) {
+                return children[idx];
+            }
+
+            var insertAt = -idx - 1;
+            var child = new Node<T>();
+            keys = insert(keys, insertAt, ch);
+            children = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, insertAt, children, insertAt + 1, children.length - insertAt - 1);
+            children[insertAt] = child;
+            return child;
+        }
+
+        void addEntry(Entry<T> entry, boolean nameStart) {
+            here.add(new Completion<>(entry, nameStart));
+        }
+
+        /**
+         * The shortest names at or below this node, cached until the next registration.
+         */
+        @SuppressWarnings("unchecked")
+        Completion<T>[] completions(int version) {
+            if (completionsVersion != version) {
+                var merged = new ArrayList<Completion<T>>(here);
+                for (var child : children) {
+                    merged.addAll(Arrays.asList(child.completions(version)));
+                }
+                merged.sort(Comparator.comparingInt(c -> c.entry.name.length()));
+                var size = Math.min(merged.size(), MAX_COMPLETIONS);
+                completions = merged.subList(0, size).toArray(new Completion[size]);
+                completionsVersion = version;
+            }
+            return completions;
+        }
+
+        private static char[] insert(char[] keys, int at, char ch) {
+            var grown = new char[keys.length + 1];
+            System.arraycopy(keys, 0, grown, 0, at);
+            grown[at] = ch;
+            System.arraycopy(keys, at, grown, at + 1, keys.length - at);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * Runs a long job split over several javafx.concurrent.Tasks and shows how
+ * it is getting on.
+ *
+ * However often the workers report, the scene is updated at most once per
+ * pulse: every worker writes its progress, partial result and message into a
+ * slot of its own with a plain ordered store, and a PulseScheduler task sums
+ * the slots up each frame. Workers never post to the FX thread themselves so
+ * reporting costs them next to nothing and can't flood the event queue.
+ * Cancelling, or closing the dialog any other way, cancels the Tasks, which
+ * the workers notice within a few thousand items.
+ *
+ * The Tasks run on a shared pool of -Ddialogs.progress.threads daemon
+ * threads, one per processor by default.
+ */
+class ProgressDialog extends Dialog<Long> {
+    // each worker's counters are 128 bytes apart so two workers never write the same cache line
+    private static final int STRIDE = 16;
+    private static final int DONE = 0;
+    private static final int MATCHES = 1;
+    // how often a worker publishes its counters and checks for cancellation
+    private static final int REPORT_EVERY = 1024;
+    private static final long THROUGHPUT_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static ExecutorService executor;
+
+    private final long items;
+    private final int workPerItem;
+    private final AtomicLongArray counters;
+    private final AtomicReferenceArray<String> messages;
+    private final List<Task<Long>> tasks = new ArrayList<>();
+
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label progressLbl = new Label();
+    private final Label throughputLbl = new Label();
+    private final Label messageLbl = new Label();
+    private final Button closeBtn;
+
+    private PulseScheduler.Task refresh;
+    private int finished;
+    private boolean cancelled;
+    private String failure;
+
+    private long done;
+    private long matches;
+    private long startedAt;
+    private long windowStart;
+    private long windowDone;
+    private double itemsPerSecond;
+    private long lastPulse;
+    private long longestFrameNanos;
+
+    ProgressDialog(Stage primaryStage, String header, long items, int workers, int workPerItem) {
+        super();
+        initOwner(primaryStage);
+        setTitle(header);
+        setHeaderText(header);
+
+        this.items = items;
+        this.workPerItem = workPerItem;
+        workers = (int) Math.max(1, Math.min(workers, items));
+        counters = new AtomicLongArray(workers * STRIDE);
+        messages = new AtomicReferenceArray<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            // split the items as evenly as they go
+            tasks.add(new Chunk(worker, items * worker / workers, items * (worker + 1) / workers));
+        }
+
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        progressBar.setPrefWidth(420);
+        var content = new VBox(8, progressBar, progressLbl, throughputLbl, messageLbl);
+        content.setPadding(new Insets(10));
+        getDialogPane().setContent(content);
+
+        var closeBtnType = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+        getDialogPane().getButtonTypes().add(closeBtnType);
+        closeBtn = (Button) getDialogPane().lookupButton(closeBtnType);
+
+        setResultConverter((btnType) -> done);
+
+        // the job runs while the dialog is up, however it is closed it stops
+        showingProperty().addListener((obs, wasShowing, isShowing) -> {
+            if (isShowing) {
+                start();
+            } else {
+                cancel();
+            }
+        });
+    }
+
+    long getItemsDone() {
+        return done;
+    }
+
+    long getMatches() {
+        return matches;
+    }
+
+    double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Longest gap between two pulses while the job ran.
+     */
+    double getLongestFrameMillis() {
+        return longestFrameNanos / 1_000_000.0;
+    }
+
+    private void start() {
+        if (refresh != null) {
+            return;
+        }
+        startedAt = windowStart = System.nanoTime();
+        refresh = PulseScheduler.shared().schedule(0, 0, this::refresh);
+        for (var task : tasks) {
+            // Task events are delivered on the FX thread
+            task.setOnSucceeded(evt -> finished());
+            task.setOnCancelled(evt -> finished());
+            task.setOnFailed(evt -> {
+                failure = String.valueOf(task.getException());
+                cancel();
+                finished();
+            });
+            executor().execute(task);
+        }
+    }
+
+    private void cancel() {
+        if (finished < tasks.size() && !cancelled) {
+            cancelled = true;
+            // interrupting as well would cut a worker off mid item, the flag is enough
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private void finished() {
+        finished++;
+        if (finished == tasks.size()) {
+            refresh(System.nanoTime());
+            refresh.cancel();
+            closeBtn.setText("Close");
+            messageLbl.setText(failure != null ? "Failed: " + failure
+                : cancelled ? "Cancelled" : "Done in " + formatSeconds(System.nanoTime() - startedAt));
+        }
+    }
+
+    /**
+     * Runs once per pulse, the only place the scene is updated while the job runs.
+     */
+    private void refresh(long now) {
+        if (lastPulse != 0) {
+            longestFrameNanos = Math.max(longestFrameNanos, now - lastPulse);
+        }
+        lastPulse = now;
+
+        long totalDone = 0;
+        long totalMatches = 0;
+        for (int slot = 0; slot < counters.length(); slot += STRIDE) {
+            totalDone += counters.get(slot + DONE);
+            totalMatches += counters.get(slot + MATCHES);
+        }
+        if (totalDone != done) {
+            done = totalDone;
+            matches = totalMatches;
+            progressBar.setProgress(items == 0 ? 1 : done / (double) items);
+        }
+
+        // text only changes a few times a second, formatting it every frame would be wasted
+        var finishing = finished == tasks.size();
+        if (now - windowStart >= THROUGHPUT_WINDOW_NANOS || finishing) {
+            // live it is the rate over the last window, at the end the average over the whole run
+            itemsPerSecond = finishing ? done * 1e9 / Math.max(1, now - startedAt)
+                : (done - windowDone) * 1e9 / Math.max(1, now - windowStart);
+            windowStart = now;
+            windowDone = done;
+
+            progressLbl.setText(String.format("%,d of %,d items, %,d matches so far", done, items, matches));
+            throughputLbl.setText(String.format("%s items/s, longest frame %.1f ms",
+                formatRate(itemsPerSecond), getLongestFrameMillis()));
+            if (!finishing) {
+                messageLbl.setText(summarizeMessages());
+            }
+        }
+    }
+
+    private String summarizeMessages() {
+        // workers only say what they are doing, the counts are the slots' job
+        var working = 0;
+        var queued = 0;
+        for (int worker = 0; worker < messages.length(); worker++) {
+            var message = messages.get(worker);
+            if (message == null) {
+                queued++;
+            } else if (message.equals(Chunk.WORKING)) {
+                working++;
+            }
+        }
+        return String.format("%d workers running, %d queued, %d finished",
+            working, queued, messages.length() - working - queued);
+    }
+
+    private static String formatRate(double perSecond) {
+        if (perSecond >= 1_000_000) {
+            return String.format("%.1fM", perSecond / 1_000_000);
+        }
+        if (perSecond >= 1_000) {
+            return String.format("%.1fk", perSecond / 1_000);
+        }
+        return String.format("%.0f", perSecond);
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null) {
+            var threads = Integer.getInteger("dialogs.progress.threads", Runtime.getRuntime().availableProcessors());
+            var count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+                var thread = new Thread(runnable, "progress-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * One worker's share of the items, hashing each one a number of times
+     * and counting the hashes that end in eight zero bits.
+     */
+    private final class Chunk extends Task<Long> {
+        static final String WORKING = "working";
+        static final String DONE_MESSAGE = "done";
+
+        private final int worker;
+        private final int slot;
+        private final long from;
+        private final long to;
+
+        Chunk(int worker, long from, long to) {
+            this.worker = worker;
+            this.slot = worker * STRIDE;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long call() {
+            messages.lazySet(worker, WORKING);
+            long found = 0;
+            for (long item = from; item < to; item++) {
+                var hash = item;
+                for (int round = 0; round < workPerItem; round++) {
+                    hash = mix(hash);
+                }
+                if ((hash & 0xFF) == 0) {
+                    found++;
+                }
+                if ((item - from) % REPORT_EVERY == REPORT_EVERY - 1) {
+                    counters.lazySet(slot + DONE, item - from + 1);
+                    counters.lazySet(slot + MATCHES, found);
+                    if (isCancelled()) {
+                        return found;
+                    }
+                }
+            }
+            counters.lazySet(slot + DONE, to - from);
+            counters.lazySet(slot + MATCHES, found);
+            messages.lazySet(worker, DONE_MESSAGE);
+            return found;
+        }
+
+        private long mix(long z) {
+            // SplitMix64's finalizer
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
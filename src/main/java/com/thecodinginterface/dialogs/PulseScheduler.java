@@ -0,0 +1,125 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * Application wide clock for periodic UI work such as countdowns.
+ *
+ * Everything is driven by a single AnimationTimer so no matter how many tasks
+ * are scheduled there are no extra threads and all ticks that are due get run
+ * together in the same pulse. The timer only runs while something is scheduled.
+ */
+final class PulseScheduler {
+    private static PulseScheduler shared;
+
+    private final List<Task> tasks = new ArrayList<>();
+    // null when ticks only come from calling tick
+    private final AnimationTimer clock;
+    private boolean running;
+    private boolean hasCancelled;
+
+    PulseScheduler() {
+        this(true);
+    }
+
+    /**
+     * A scheduler that ticks on every pulse, or without a clock of its own
+     * only when tick is called, which is how the benchmark times a tick.
+     */
+    PulseScheduler(boolean onPulses) {
+        clock = !onPulses ? null : new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                tick(now);
+            }
+        };
+    }
+
+    static PulseScheduler shared() {
+        checkFxThread();
+        if (shared == null) {
+            shared = new PulseScheduler();
+        }
+        return shared;
+    }
+
+    /**
+     * Calls onTick with the pulse timestamp every periodNanos, starting one period
+     * from now. A period of zero ticks on every pulse. Must be called on the FX thread.
+     */
+    Task schedule(long periodNanos, LongConsumer onTick) {
+        return schedule(periodNanos, periodNanos, onTick);
+    }
+
+    Task schedule(long initialDelayNanos, long periodNanos, LongConsumer onTick) {
+        checkFxThread();
+        var task = new Task(periodNanos, onTick, System.nanoTime() + initialDelayNanos);
+        tasks.add(task);
+        if (!running && clock != null) {
+            running = true;
+            clock.start();
+        }
+        return task;
+    }
+
+    int size() {
+        return tasks.size();
+    }
+
+    void tick(long now) {
+        // indexed loop so tasks scheduled from within a tick don't upset the iteration
+        for (int i = 0; i < tasks.size(); i++) {
+            var task = tasks.get(i);
+            // a late task runs every tick it missed so counts stay in step with the clock
+            while (!task.cancelled && now >= task.nextDue) {
+                task.nextDue = task.period > 0 ? task.nextDue + task.period : now + 1;
+                task.onTick.accept(now);
+            }
+        }
+
+        if (hasCancelled) {
+            hasCancelled = false;
+            tasks.removeIf(task -> task.cancelled);
+        }
+        if (tasks.isEmpty() && running) {
+            running = false;
+            clock.stop();
+        }
+    }
+
+    private static void checkFxThread() {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("PulseScheduler must be used from the JavaFX Application Thread");
+        }
+    }
+
+    final class Task {
+        private final long period;
+        private final LongConsumer onTick;
+        private long nextDue;
+        private boolean cancelled;
+
+        private Task(long period, LongConsumer onTick, long nextDue) {
+            this.period = period;
+            this.onTick = onTick;
+            this.nextDue = nextDue;
+        }
+
+        void cancel() {
+            checkFxThread();
+            if (!cancelled) {
+                cancelled = true;
+                hasCancelled = true;
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
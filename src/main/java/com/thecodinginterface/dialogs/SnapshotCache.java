@@ -0,0 +1,297 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Thumbnails of the dialogs for the gallery, kept in memory and on disk so
+ * a dialog is only rendered again once it looks different.
+ *
+ * A thumbnail's key is a hash of the stylesheet's bytes, the app's build,
+ * the JavaFX version and everything the catalog says about the dialog, so
+ * editing styles.css or a dialog's section, or a new build changing how
+ * dialogs are put together, makes its old thumbnail unreachable and it is
+ * rendered afresh. The build is told apart by the size and modified time of
+ * the app's jar, or of the runtime image it was linked into. Files on disk are a small header and the deflated ARGB pixels,
+ * read and written on a background thread. Files for keys no longer in use
+ * are deleted by retainOnly.
+ *
+ * The directory is -Ddialogs.snapshots.dir, ~/.javafx-dialogs/snapshots by
+ * default, and -Ddialogs.snapshots.report=true prints summary() on exit.
+ */
+final class SnapshotCache {
+    private static final int MAGIC = 0x54484D42;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".thumb";
+
+    private static SnapshotCache shared;
+
+    private final Path dir;
+    private final String stylesheetHash;
+    private final String build;
+    private final ExecutorService io;
+
+    // only touched on the FX thread
+    private final Map<String, Image> memory = new HashMap<>();
+    private final Map<String, Long> renderNanos = new LinkedHashMap<>();
+    private int memoryHits;
+    private int diskHits;
+    private int misses;
+
+    static synchronized SnapshotCache shared(URL stylesheet) {
+        if (shared == null) {
+            var defaultDir = Paths.get(System.getProperty("user.home"), ".javafx-dialogs", "snapshots");
+            var dir = System.getProperty("dialogs.snapshots.dir");
+            shared = new SnapshotCache(dir != null ? Paths.get(dir) : defaultDir, hashStylesheet(stylesheet), build());
+        }
+        return shared;
+    }
+
+    SnapshotCache(Path dir, String stylesheetHash, String build) {
+        this.dir = dir;
+        this.stylesheetHash = stylesheetHash;
+        this.build = build;
+        io = Executors.newSingleThreadExecutor(r -> {
+            var thread = new Thread(r, "snapshot-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    String keyFor(DialogDefinition definition) {
+        return key(stylesheetHash, build, definition);
+    }
+
+    static String key(String stylesheetHash, String build, DialogDefinition definition) {
+        return sha1(stylesheetHash + '\n' + build + '\n' + System.getProperty("javafx.runtime.version") + '\n'
+            + definition.fingerprint());
+    }
+
+    /**
+     * The thumbnail for key if it is in memory, otherwise null.
+     */
+    Image cached(String key) {
+        var image = memory.get(key);
+        if (image != null) {
+            memoryHits++;
+        }
+        return image;
+    }
+
+    /**
+     * Reads the thumbnail for key from disk in the background and hands it to
+     * onLoaded on the FX thread, or null when it has to be rendered.
+     */
+    void load(String key, Consumer<Image> onLoaded) {
+        io.execute(() -> {
+            var pixels = read(dir.resolve(key + SUFFIX));
+            Platform.runLater(() -> {
+                Image image = null;
+                if (pixels != null) {
+                    diskHits++;
+                    image = toImage(pixels);
+                    memory.put(key, image);
+                } else {
+                    misses++;
+                }
+                onLoaded.accept(image);
+            });
+        });
+    }
+
+    /**
+     * Keeps a freshly rendered thumbnail, writing it to disk in the background.
+     */
+    void put(String name, String key, Image image, long tookNanos) {
+        memory.put(key, image);
+        renderNanos.put(name, tookNanos);
+        // the pixels have to be read on the FX thread, the rest can wait
+        var pixels = toPixels(image);
+        io.execute(() -> {
+            try {
+                write(dir.resolve(key + SUFFIX), pixels);
+            } catch (IOException e) {
+                System.err.println("Unable to write thumbnail of " + name + ": " + e);
+            }
+        });
+    }
+
+    /**
+     * Deletes the thumbnails on disk whose keys are not among keys.
+     */
+    void retainOnly(Collection<String> keys) {
+        var current = new HashSet<String>();
+        keys.forEach(key -> current.add(key + SUFFIX));
+        memory.keySet().retainAll(keys);
+        io.execute(() -> {
+            if (!Files.isDirectory(dir)) {
+                return;
+            }
+            try (var files = Files.list(dir)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .filter(file -> !current.contains(file.getFileName().toString()))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            System.err.println("Unable to delete stale thumbnail " + file + ": " + e);
+                        }
+                    });
+            } catch (IOException e) {
+                System.err.println("Unable to list thumbnails in " + dir + ": " + e);
+            }
+        });
+    }
+
+    String summary() {
+        var lookups = memoryHits + diskHits + misses;
+        var summary = new StringBuilder(String.format(
+            "snapshot cache: %d lookups, %d from memory, %d from disk, %d rendered (%.0f%% hit rate)",
+            lookups, memoryHits, diskHits, misses, lookups == 0 ? 0 : 100.0 * (memoryHits + diskHits) / lookups));
+        renderNanos.forEach((name, nanos) ->
+            summary.append(String.format("%n  %-30s rendered in %.1f ms", name, nanos / 1_000_000.0)));
+        return summary.toString();
+    }
+
+    static final class Pixels {
+        final int width;
+        final int height;
+        final int[] argb;
+
+        Pixels(int width, int height, int[] argb) {
+            this.width = width;
+            this.height = height;
+            this.argb = argb;
+        }
+    }
+
+    static void write(Path file, Pixels pixels) throws IOException {
+        Files.createDirectories(file.getParent());
+        // written aside and moved in place so a reader never sees half a thumbnail
+        var partial = file.resolveSibling(file.getFileName() + ".part");
+        try (var out = new DataOutputStream(new DeflaterOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(partial))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(pixels.width);
+            out.writeInt(pixels.height);
+            for (var pixel : pixels.argb) {
+                out.writeInt(pixel);
+            }
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The pixels in file, or null when there is no such file or it isn't a
+     * thumbnail this version wrote.
+     */
+    static Pixels read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (var in = new DataInputStream(new InflaterInputStream(
+                new BufferedInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            var width = in.readInt();
+            var height = in.readInt();
+            if (width <= 0 || height <= 0 || width > 4096 || height > 4096) {
+                return null;
+            }
+            var argb = new int[width * height];
+            for (int i = 0; i < argb.length; i++) {
+                argb[i] = in.readInt();
+            }
+            return new Pixels(width, height, argb);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Image toImage(Pixels pixels) {
+        var image = new WritableImage(pixels.width, pixels.height);
+        image.getPixelWriter().setPixels(0, 0, pixels.width, pixels.height,
+            PixelFormat.getIntArgbInstance(), pixels.argb, 0, pixels.width);
+        return image;
+    }
+
+    private static Pixels toPixels(Image image) {
+        var width = (int) image.getWidth();
+        var height = (int) image.getHeight();
+        var argb = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+        return new Pixels(width, height, argb);
+    }
+
+    private static String hashStylesheet(URL stylesheet) {
+        try (InputStream in = stylesheet.openStream()) {
+            return sha1(new String(in.readAllBytes(), StandardCharsets.ISO_8859_1));
+        } catch (IOException e) {
+            // without the stylesheet's hash nothing on disk can be trusted to be current
+            return "unreadable-" + System.nanoTime();
+        }
+    }
+
+    private static String build() {
+        try {
+            var codeSource = SnapshotCache.class.getProtectionDomain().getCodeSource();
+            // a linked runtime image has no jar, its modules file changes with every build
+            var app = codeSource != null && "file".equals(codeSource.getLocation().getProtocol())
+                ? Paths.get(codeSource.getLocation().toURI())
+                : Paths.get(System.getProperty("java.home"), "lib", "modules");
+            if (Files.isDirectory(app)) {
+                // run from the classes directory, the newest class stands for the build
+                try (var files = Files.walk(app)) {
+                    return app + "@" + files.mapToLong(file -> file.toFile().lastModified()).max().orElse(0);
+                }
+            }
+            return app + "@" + Files.size(app) + "@" + Files.getLastModifiedTime(app).toMillis();
+        } catch (IOException | URISyntaxException | SecurityException e) {
+            // without knowing the build nothing on disk can be trusted to be current
+            return "unknown-" + System.nanoTime();
+        }
+    }
+
+    private static String sha1(String text) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            var key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.TilePane;
+import javafx.scene.layout.VBox;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+/**
+ * A thumbnail of every dialog in the catalog, clicking one opens it.
+ *
+ * Thumbnails come from the SnapshotCache where it has them. The others are
+ * rendered by building the dialog without showing it and taking a snapshot
+ * of its DialogPane, a few per pulse and only while the app is idle: no
+ * dialog is up and the last frame came on time. Each pulse renders until
+ * -Ddialogs.snapshots.budgetMillis (4 by default) is used up, so the gallery
+ * fills in without the app ever stuttering.
+ */
+final class SnapshotGallery {
+    private static final double THUMB_WIDTH = 240;
+    private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    private final DialogCatalog catalog;
+    private final SnapshotCache cache;
+    private final String stylesheet;
+    private final Function<DialogDefinition, Dialog<?>> previews;
+    private final long budgetNanos = TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("dialogs.snapshots.budgetMillis", 4));
+
+    private final BorderPane view = new BorderPane();
+    private final Label statusLbl = new Label();
+    private final List<Tile> tiles = new ArrayList<>();
+    private final Deque<Tile> toRender = new ArrayDeque<>();
+
+    private PulseScheduler.Task renderer;
+    private long lastPulse;
+
+    SnapshotGallery(DialogCatalog catalog, SnapshotCache cache, String stylesheet,
+            Function<DialogDefinition, Dialog<?>> previews, Consumer<String> onOpen) {
+        this.catalog = catalog;
+        this.cache = cache;
+        this.stylesheet = stylesheet;
+        this.previews = previews;
+
+        var tilePane = new TilePane(10, 10);
+        tilePane.setPadding(new Insets(10));
+        tilePane.setPrefTileWidth(THUMB_WIDTH + 10);
+        for (var name : catalog.names()) {
+            var tile = new Tile(name);
+            tile.box.setOnMouseClicked(evt -> onOpen.accept(name));
+            tiles.add(tile);
+            tilePane.getChildren().add(tile.box);
+        }
+
+        var scrollPane = new ScrollPane(tilePane);
+        scrollPane.setFitToWidth(true);
+        view.getStyleClass().add("snapshot-gallery");
+        view.setCenter(scrollPane);
+        view.setBottom(statusLbl);
+        BorderPane.setMargin(statusLbl, new Insets(5));
+    }
+
+    BorderPane getView() {
+        return view;
+    }
+
+    /**
+     * Shows what the cache has and queues the rest for rendering, called each
+     * time the gallery is shown so edited dialogs are picked up.
+     */
+    void refresh() {
+        var keys = new ArrayList<String>();
+        for (var tile : tiles) {
+            var key = cache.keyFor(catalog.definition(tile.name));
+            keys.add(key);
+            // looked up even for an unchanged tile so the summary counts its memory hit
+            var image = cache.cached(key);
+            if (key.equals(tile.key)) {
+                continue;
+            }
+            tile.key = key;
+            if (image != null) {
+                tile.show(image);
+                continue;
+            }
+            tile.placeholder.setText("Loading...");
+            cache.load(key, loaded -> {
+                // the tile may have moved on to a newer key in the meantime
+                if (!key.equals(tile.key)) {
+                    return;
+                }
+                if (loaded != null) {
+                    tile.show(loaded);
+                } else {
+                    tile.placeholder.setText("Rendering...");
+                    toRender.add(tile);
+                    startRendering();
+                }
+            });
+        }
+        cache.retainOnly(keys);
+        statusLbl.setText(cache.summary().lines().findFirst().orElse(""));
+    }
+
+    private void startRendering() {
+        if (renderer == null) {
+            lastPulse = 0;
+            renderer = PulseScheduler.shared().schedule(0, 0, this::renderWhileIdle);
+        }
+    }
+
+    private void renderWhileIdle(long now) {
+        var onTime = lastPulse == 0 || now - lastPulse < FRAME_NANOS * 3 / 2;
+        lastPulse = now;
+        // a late frame or an open dialog means the user is busy, try again next pulse
+        if (!onTime || Window.getWindows().size() > 1) {
+            return;
+        }
+
+        var deadline = System.nanoTime() + budgetNanos;
+        // at least one per pulse however long it takes
+        while (!toRender.isEmpty()) {
+            render(toRender.poll());
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        statusLbl.setText(cache.summary().lines().findFirst().orElse(""));
+        if (toRender.isEmpty()) {
+            renderer.cancel();
+            renderer = null;
+        }
+    }
+
+    private void render(Tile tile) {
+        var startedAt = System.nanoTime();
+        var pane = previews.apply(catalog.definition(tile.name)).getDialogPane();
+        pane.getStylesheets().add(stylesheet);
+
+        // never shown, so the pane has to be styled and sized by hand
+        pane.applyCss();
+        var width = pane.prefWidth(-1);
+        var height = pane.prefHeight(width);
+        pane.resize(width, height);
+        pane.layout();
+
+        var params = new SnapshotParameters();
+        var scale = THUMB_WIDTH / width;
+        params.setTransform(Transform.scale(scale, scale));
+        var image = pane.snapshot(params, null);
+
+        cache.put(tile.name, tile.key, image, System.nanoTime() - startedAt);
+        tile.show(image);
+    }
+
+    private static final class Tile {
+        final String name;
+        final VBox box;
+        final ImageView imageView = new ImageView();
+        final Label placeholder = new Label();
+        String key;
+
+        Tile(String name) {
+            this.name = name;
+            var picture = new StackPane(placeholder, imageView);
+            picture.setPrefSize(THUMB_WIDTH, THUMB_WIDTH * 0.6);
+            box = new VBox(5, picture, new Label(name));
+            box.setAlignment(Pos.TOP_CENTER);
+            box.getStyleClass().add("snapshot-tile");
+        }
+
+        void show(Image image) {
+            placeholder.setText(null);
+            imageView.setImage(image);
+        }
+    }
+}
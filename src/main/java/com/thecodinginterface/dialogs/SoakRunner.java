@@ -0,0 +1,173 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBar.ButtonData;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DialogPane;
+import javafx.scene.control.TextField;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+/**
+ * Opens, uses and closes the menu's dialogs over and over to show whether
+ * anything is left behind, for installs that are never restarted.
+ *
+ * Start the app with -Ddialogs.soak.cycles=5000 to run it. Every cycle fires
+ * the next option, presses through whatever dialogs it shows (including the
+ * dialogs the Text Input and Choice Box dialogs open in turn) and waits for
+ * them all to close. About a hundred times per run the heap is collected and
+ * sampled by a LeakTracker that weakly tracks every dialog window and pane
+ * seen. The report is printed, and written to -Ddialogs.soak.report if set,
+ * before the app exits.
+ */
+final class SoakRunner {
+    private static final int SAMPLES = 100;
+
+    private final List<DialogOption> options;
+    private final int cycles;
+    private final int sampleEvery;
+    private final LeakTracker leakTracker = new LeakTracker();
+    // weak so that hooking a window never keeps it alive
+    private final Set<Window> hooked = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private int cycle;
+    private int showingDialogs;
+    private boolean callbackReturned;
+
+    SoakRunner(List<DialogOption> options, int cycles) {
+        this.options = List.copyOf(options);
+        this.cycles = cycles;
+        sampleEvery = Math.max(1, cycles / SAMPLES);
+    }
+
+    /**
+     * Starts the soak on the FX thread, it then runs itself from FX events.
+     */
+    void start() {
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(this::hook);
+            }
+        });
+        System.out.printf("soak: %d cycles over %d options%n", cycles, options.size());
+        sample();
+        Platform.runLater(this::nextCycle);
+    }
+
+    private void nextCycle() {
+        if (cycle == cycles) {
+            finish();
+            return;
+        }
+        var option = options.get(cycle % options.size());
+        callbackReturned = false;
+        // most options block in showAndWait so everything else happens in the nested loop
+        option.fire();
+        callbackReturned = true;
+        cycleMaybeDone();
+    }
+
+    private void cycleMaybeDone() {
+        if (!callbackReturned || showingDialogs > 0) {
+            return;
+        }
+        callbackReturned = false;
+        cycle++;
+        if (cycle % sampleEvery == 0) {
+            sample();
+        }
+        Platform.runLater(this::nextCycle);
+    }
+
+    private void hook(Window window) {
+        if (window.getScene() == null || !hooked.add(window)) {
+            return;
+        }
+        var node = window.getScene().getRoot().lookup(".dialog-pane");
+        if (!(node instanceof DialogPane)) {
+            return;
+        }
+        var pane = (DialogPane) node;
+        window.addEventHandler(WindowEvent.WINDOW_SHOWN, evt -> {
+            showingDialogs++;
+            leakTracker.track("Window", window, cycle);
+            leakTracker.track("DialogPane", pane, cycle);
+            // let the show finish before interacting, the way a user would
+            Platform.runLater(() -> interact(pane));
+        });
+        window.addEventHandler(WindowEvent.WINDOW_HIDDEN, evt -> {
+            showingDialogs--;
+            Platform.runLater(this::cycleMaybeDone);
+        });
+    }
+
+    private void interact(DialogPane pane) {
+        var textField = pane.lookup(".text-field");
+        var comboBox = pane.lookup(".combo-box");
+        if (textField instanceof TextField) {
+            ((TextField) textField).setText("Info Alert");
+            press(pane, ButtonType.OK);
+        } else if (comboBox instanceof ComboBox) {
+            @SuppressWarnings("unchecked")
+            var choices = (ComboBox<String>) comboBox;
+            choices.setValue("Warning Alert");
+            press(pane, ButtonType.OK);
+        } else if (find(pane, ButtonData.BACK_PREVIOUS) != null) {
+            // the countdown, pause and reset it before closing
+            press(pane, find(pane, ButtonData.APPLY));
+            press(pane, find(pane, ButtonData.BACK_PREVIOUS));
+            press(pane, find(pane, ButtonData.CANCEL_CLOSE));
+        } else {
+            press(pane, pane.getButtonTypes().contains(ButtonType.OK) ? ButtonType.OK : pane.getButtonTypes().get(0));
+        }
+    }
+
+    private static ButtonType find(DialogPane pane, ButtonData buttonData) {
+        return pane.getButtonTypes().stream()
+            .filter(type -> type.getButtonData() == buttonData)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static void press(DialogPane pane, ButtonType buttonType) {
+        var button = pane.lookupButton(buttonType);
+        if (button instanceof Button) {
+            ((Button) button).fire();
+        }
+    }
+
+    private void sample() {
+        // only a full collection shows what is really still reachable
+        System.gc();
+        var sample = leakTracker.sample(cycle, Map.of("pulseTasks", (long) PulseScheduler.shared().size()));
+        System.out.printf("soak: cycle %d %s%n", cycle, sample.values);
+    }
+
+    private void finish() {
+        var report = leakTracker.report();
+        System.out.print(report);
+
+        var reportPath = System.getProperty("dialogs.soak.report");
+        if (reportPath != null) {
+            try {
+                Files.writeString(Paths.get(reportPath), leakTracker.toCsv() + "\n" + report, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                System.err.println("Unable to write the soak report to " + reportPath + ": " + e);
+            }
+        }
+        Platform.exit();
+    }
+}
@@ -0,0 +1,97 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+
+import javafx.application.Platform;
+
+/**
+ * Records how long each phase of the app's startup took, measured from the
+ * moment the JVM process was started.
+ *
+ * Set -Ddialogs.startup.timing=true to print the phases once startup completes
+ * or -Ddialogs.startup.report=path/to/file.csv to export them, and
+ * -Ddialogs.startup.exitAfter=FIRST_PULSE (or any other phase) to report and
+ * exit as soon as that phase is reached.
+ */
+class StartupTimer {
+    enum Phase {
+        LAUNCH,
+        SCENE_BUILT,
+        FIRST_PULSE,
+        WEBVIEW_READY
+    }
+
+    private final long anchorNanos = System.nanoTime();
+    private final long anchorOffsetNanos;
+    private final long[] marks = new long[Phase.values().length];
+    private final String exitAfter = System.getProperty("dialogs.startup.exitAfter");
+    private boolean exiting;
+
+    StartupTimer() {
+        // tie the monotonic clock to the process start time once, everything else is nanoTime
+        var now = Instant.now();
+        var processStart = ProcessHandle.current().info().startInstant().orElse(now);
+        anchorOffsetNanos = Duration.between(processStart, now).toNanos();
+    }
+
+    void mark(Phase phase) {
+        if (marks[phase.ordinal()] != 0 || exiting) {
+            return;
+        }
+        marks[phase.ordinal()] = System.nanoTime();
+        if (phase.name().equals(exitAfter)) {
+            // launches that only measure startup stop here, see startupBenchmark in build.gradle
+            exiting = true;
+            report();
+            Platform.exit();
+        } else if (phase == Phase.WEBVIEW_READY) {
+            report();
+        }
+    }
+
+    /**
+     * Milliseconds between the process start and the given phase, or -1 if
+     * the phase hasn't been reached yet.
+     */
+    double sinceProcessStartMillis(Phase phase) {
+        var mark = marks[phase.ordinal()];
+        if (mark == 0) {
+            return -1;
+        }
+        return (anchorOffsetNanos + mark - anchorNanos) / 1_000_000.0;
+    }
+
+    String toCsv() {
+        var csv = new StringBuilder("phase,sinceProcessStartMillis,sincePreviousMillis\n");
+        double previous = 0;
+        for (var phase : Phase.values()) {
+            var millis = sinceProcessStartMillis(phase);
+            if (millis < 0) {
+                continue;
+            }
+            csv.append(String.format("%s,%.1f,%.1f%n", phase, millis, millis - previous));
+            previous = millis;
+        }
+        return csv.toString();
+    }
+
+    private void report() {
+        if (Boolean.getBoolean("dialogs.startup.timing")) {
+            System.out.print(toCsv());
+        }
+
+        var reportFile = System.getProperty("dialogs.startup.report");
+        if (reportFile != null) {
+            try {
+                Files.write(Paths.get(reportFile), toCsv().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("Unable to write startup report to " + reportFile + ": " + e.getMessage());
+            }
+        }
+    }
+}
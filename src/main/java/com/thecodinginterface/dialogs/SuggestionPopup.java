@@ -0,0 +1,59 @@
+package com.thecodinginterface.dialogs;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+/**
+ * Shows ranked option names from an OptionRegistry under a TextField as the
+ * user types. Call detach() once the field is done with, for example when
+ * a pooled dialog closes, so listeners don't pile up on reused editors.
+ */
+final class SuggestionPopup {
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private final TextField field;
+    private final ContextMenu menu = new ContextMenu();
+    private final ChangeListener<String> textListener;
+    private boolean applying;
+
+    SuggestionPopup(TextField field, OptionRegistry<?> registry) {
+        this.field = field;
+        textListener = (obs, oldText, text) -> {
+            if (applying) {
+                return;
+            }
+            var names = registry.suggest(text, MAX_SUGGESTIONS);
+            if (names.isEmpty() || (names.size() == 1 && names.get(0).equalsIgnoreCase(text.strip()))) {
+                menu.hide();
+                return;
+            }
+
+            menu.getItems().clear();
+            for (var name : names) {
+                var item = new MenuItem(name);
+                item.setOnAction(evt -> apply(name));
+                menu.getItems().add(item);
+            }
+            if (!menu.isShowing()) {
+                menu.show(field, Side.BOTTOM, 0, 0);
+            }
+        };
+        field.textProperty().addListener(textListener);
+    }
+
+    void detach() {
+        field.textProperty().removeListener(textListener);
+        menu.hide();
+    }
+
+    private void apply(String name) {
+        applying = true;
+        field.setText(name);
+        field.positionCaret(name.length());
+        applying = false;
+        menu.hide();
+    }
+}
@@ -0,0 +1,271 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Line index over a stack trace or log excerpt, built once off the FX
+ * thread so the viewer only ever touches the lines it shows.
+ *
+ * Besides where each line starts it finds what can be folded away: the
+ * frames below every "Caused by:" (or "Suppressed:") line, and frames that
+ * repeat over and over, as deep recursion does, of which only the first
+ * round is kept. Folds can nest, a repeat inside a cause is folded in its
+ * own right once the cause is opened.
+ */
+final class TraceIndex {
+    // longest run of frames that is looked for repeating, recursion through a few methods
+    private static final int MAX_PERIOD = 16;
+    private static final int MIN_REPEATS = 3;
+    // how many offsets find tries between checks for a newer search
+    private static final int CHECK_EVERY = 1 << 16;
+
+    enum FoldKind {
+        CAUSE, REPEAT
+    }
+
+    static final class Fold {
+        final FoldKind kind;
+        // the lines hidden while folded
+        final int start;
+        final int end;
+        // how many times the kept frames repeat, only for REPEAT
+        final int repeats;
+
+        Fold(FoldKind kind, int start, int end, int repeats) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+            this.repeats = repeats;
+        }
+
+        int size() {
+            return end - start;
+        }
+    }
+
+    private final String text;
+    // lineStarts[i] is where line i starts, the last entry is one past the end
+    private final int[] lineStarts;
+    private final List<Fold> folds;
+
+    private TraceIndex(String text, int[] lineStarts, List<Fold> folds) {
+        this.text = text;
+        this.lineStarts = lineStarts;
+        this.folds = folds;
+    }
+
+    static TraceIndex build(String text) {
+        var starts = new int[1024];
+        var count = 0;
+        starts[count++] = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = i + 1;
+        }
+        // a trailing newline already ends the last line, otherwise the end of the text does
+        if (text.isEmpty() || text.charAt(text.length() - 1) != '\n') {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + 1);
+            }
+            starts[count++] = text.length() + 1;
+        }
+        var lineStarts = Arrays.copyOf(starts, count);
+        return new TraceIndex(text, lineStarts, findFolds(text, lineStarts));
+    }
+
+    int lineCount() {
+        return lineStarts.length - 1;
+    }
+
+    int textLength() {
+        return text.length();
+    }
+
+    String line(int line) {
+        var start = lineStarts[line];
+        var end = lineStarts[line + 1] - 1;
+        if (end > start && text.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+
+    List<Fold> folds() {
+        return folds;
+    }
+
+    /**
+     * The rows to show with the given folds open: a line number for a line,
+     * -(fold + 1) for the row standing in for a fold, which stays in place
+     * above an opened fold so it can be closed again.
+     */
+    int[] rows(boolean[] expanded) {
+        var rows = new int[lineCount() + folds.size()];
+        var count = emit(0, lineCount(), new int[] { 0 }, expanded, rows, 0);
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Every fold that has to be open for line to be shown.
+     */
+    List<Integer> foldsHiding(int line) {
+        var hiding = new ArrayList<Integer>();
+        for (int f = 0; f < folds.size(); f++) {
+            if (folds.get(f).start <= line && line < folds.get(f).end) {
+                hiding.add(f);
+            }
+        }
+        return hiding;
+    }
+
+    /**
+     * The next line at or after from (before from going backwards) containing
+     * query, wrapping around, or -1. Case is ignored unless query has capitals.
+     */
+    int find(String query, int from, boolean forward) {
+        return find(query, from, forward, () -> false);
+    }
+
+    /**
+     * As find(query, from, forward) but giving up with -1 once cancelled
+     * says so, which is asked every CHECK_EVERY characters.
+     */
+    int find(String query, int from, boolean forward, BooleanSupplier cancelled) {
+        if (query.isEmpty() || lineCount() == 0) {
+            return -1;
+        }
+        // compared in place, a lower cased copy would double the memory of a large trace
+        var ignoreCase = query.equals(query.toLowerCase(Locale.ROOT));
+        var offsets = text.length() - query.length() + 1;
+        var startAt = Math.min(lineStarts[Math.max(0, Math.min(from, lineCount() - 1))], offsets);
+        for (int i = 0; i < offsets; i++) {
+            if (i % CHECK_EVERY == 0 && cancelled.getAsBoolean()) {
+                return -1;
+            }
+            var offset = forward ? (startAt + i) % offsets : Math.floorMod(startAt - 1 - i, offsets);
+            if (text.regionMatches(ignoreCase, offset, query, 0, query.length())) {
+                return lineOf(offset);
+            }
+        }
+        return -1;
+    }
+
+    int lineOf(int offset) {
+        var found = Arrays.binarySearch(lineStarts, offset);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private int emit(int from, int to, int[] cursor, boolean[] expanded, int[] rows, int count) {
+        var line = from;
+        while (line < to) {
+            if (cursor[0] < folds.size() && folds.get(cursor[0]).start == line) {
+                var f = cursor[0]++;
+                var fold = folds.get(f);
+                rows[count++] = -(f + 1);
+                if (expanded[f]) {
+                    count = emit(fold.start, fold.end, cursor, expanded, rows, count);
+                } else {
+                    // whatever is nested inside stays hidden with it
+                    while (cursor[0] < folds.size() && folds.get(cursor[0]).start < fold.end) {
+                        cursor[0]++;
+                    }
+                }
+                line = fold.end;
+            } else {
+                rows[count++] = line++;
+            }
+        }
+        return count;
+    }
+
+    private static List<Fold> findFolds(String text, int[] lineStarts) {
+        var lines = lineStarts.length - 1;
+        var frame = new boolean[lines];
+        var cause = new boolean[lines];
+        var hashes = new int[lines];
+        for (int line = 0; line < lines; line++) {
+            var start = skipSpaces(text, lineStarts[line], lineStarts[line + 1] - 1);
+            frame[line] = text.startsWith("at ", start);
+            cause[line] = text.startsWith("Caused by:", start) || text.startsWith("Suppressed:", start);
+            var hash = 0;
+            for (int i = lineStarts[line]; i < lineStarts[line + 1] - 1; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            hashes[line] = hash;
+        }
+
+        var folds = new ArrayList<Fold>();
+        for (int line = 0; line < lines; line++) {
+            if (cause[line]) {
+                var end = line + 1;
+                while (end < lines && !cause[end]) {
+                    end++;
+                }
+                if (end > line + 1) {
+                    folds.add(new Fold(FoldKind.CAUSE, line + 1, end, 0));
+                }
+            }
+        }
+
+        var line = 0;
+        while (line < lines) {
+            if (!frame[line]) {
+                line++;
+                continue;
+            }
+            var found = false;
+            for (int period = 1; period <= MAX_PERIOD && !found; period++) {
+                var repeats = 1;
+                while (sameRun(text, lineStarts, hashes, frame, line, line + repeats * period, period)) {
+                    repeats++;
+                }
+                if (repeats >= MIN_REPEATS) {
+                    folds.add(new Fold(FoldKind.REPEAT, line + period, line + repeats * period, repeats));
+                    line += repeats * period;
+                    found = true;
+                }
+            }
+            if (!found) {
+                line++;
+            }
+        }
+
+        // outer folds before the folds nested in them
+        folds.sort(Comparator.comparingInt((Fold fold) -> fold.start).thenComparing(fold -> -fold.end));
+        return List.copyOf(folds);
+    }
+
+    private static boolean sameRun(String text, int[] lineStarts, int[] hashes, boolean[] frame,
+            int first, int other, int period) {
+        if (other + period > hashes.length) {
+            return false;
+        }
+        for (int i = 0; i < period; i++) {
+            var a = first + i;
+            var b = other + i;
+            if (!frame[b] || hashes[a] != hashes[b]) {
+                return false;
+            }
+            var length = lineStarts[a + 1] - lineStarts[a];
+            if (length != lineStarts[b + 1] - lineStarts[b]
+                    || !text.regionMatches(lineStarts[a], text, lineStarts[b], length - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpaces(String text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+}
@@ -0,0 +1,259 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.AbstractList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.css.PseudoClass;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+/**
+ * Shows a stack trace or log excerpt of any size as the expandable content
+ * of an Alert without holding up the FX thread.
+ *
+ * Putting megabytes of text in a TextArea lays all of it out, here the text
+ * is made and indexed (see TraceIndex) on a background thread while the
+ * dialog shows straight away, and a ListView with a fixed row height only
+ * ever creates cells for the rows on screen. Causes and repeated frames
+ * start folded, clicking a fold or pressing enter on it opens and closes it.
+ * Typing in the find field jumps to the next matching line as you type,
+ * enter finds the next one and shift+enter the one before.
+ */
+final class TraceViewer {
+    private static final double ROW_HEIGHT = 18;
+    // nobody reads further along a line than this and cells stay cheap to lay out
+    private static final int MAX_LINE_CHARS = 400;
+    private static final PseudoClass FOLD = PseudoClass.getPseudoClass("fold");
+
+    private static ExecutorService background;
+
+    private final BorderPane view = new BorderPane();
+    private final ListView<Integer> listView = new ListView<>();
+    private final TextField findField = new TextField();
+    private final Label statusLbl = new Label("Indexing...");
+
+    private TraceIndex index;
+    private boolean[] expanded;
+    private int[] rows;
+    private int currentLine;
+    // bumped on the FX thread, read by the search running in the background
+    private volatile int searchGeneration;
+
+    TraceViewer(Supplier<String> text) {
+        view.getStyleClass().add("trace-viewer");
+        view.setPrefSize(800, 400);
+
+        findField.setPromptText("Find");
+        findField.setDisable(true);
+        var findBar = new HBox(10, findField, statusLbl);
+        findBar.setAlignment(Pos.CENTER_LEFT);
+        findBar.setPadding(new Insets(0, 0, 5, 0));
+        HBox.setHgrow(findField, Priority.ALWAYS);
+        view.setTop(findBar);
+
+        listView.setFixedCellSize(ROW_HEIGHT);
+        listView.setPlaceholder(new Label("Indexing..."));
+        listView.setCellFactory(lv -> new RowCell());
+        listView.setOnKeyPressed(evt -> {
+            var row = listView.getSelectionModel().getSelectedItem();
+            if (evt.getCode() == KeyCode.ENTER && row != null && row < 0) {
+                evt.consume();
+                toggle(-row - 1);
+            }
+        });
+        view.setCenter(listView);
+
+        findField.textProperty().addListener((obs, oldQuery, query) -> find(query, currentLine, true));
+        findField.setOnKeyPressed(evt -> {
+            if (evt.getCode() == KeyCode.ENTER) {
+                evt.consume();
+                var forward = !evt.isShiftDown();
+                find(findField.getText(), forward ? currentLine + 1 : currentLine, forward);
+            }
+        });
+
+        background().execute(() -> {
+            var built = TraceIndex.build(text.get());
+            var firstRows = built.rows(new boolean[built.folds().size()]);
+            Platform.runLater(() -> show(built, firstRows));
+        });
+    }
+
+    BorderPane getView() {
+        return view;
+    }
+
+    private void show(TraceIndex built, int[] firstRows) {
+        index = built;
+        expanded = new boolean[built.folds().size()];
+        setRows(firstRows);
+        findField.setDisable(false);
+        statusLbl.setText(String.format("%,d lines, %.1f MB, %,d folds",
+            built.lineCount(), built.textLength() / (1024.0 * 1024.0), built.folds().size()));
+    }
+
+    private void setRows(int[] newRows) {
+        rows = newRows;
+        // a read only view over the int array, nothing is boxed until a cell asks for its row
+        listView.setItems(FXCollections.observableList(new AbstractList<Integer>() {
+            @Override
+            public Integer get(int i) {
+                return newRows[i];
+            }
+
+            @Override
+            public int size() {
+                return newRows.length;
+            }
+        }));
+    }
+
+    private void toggle(int fold) {
+        expanded[fold] = !expanded[fold];
+        setRows(index.rows(expanded));
+        var row = rowOf(-(fold + 1));
+        listView.getSelectionModel().select(row);
+        listView.scrollTo(Math.max(0, row - 3));
+    }
+
+    private void find(String query, int from, boolean forward) {
+        if (index == null) {
+            return;
+        }
+        // only the latest search gets to move the view, earlier ones stop where they are
+        var generation = ++searchGeneration;
+        var searched = index;
+        background().execute(() -> {
+            var line = searched.find(query, from, forward, () -> generation != searchGeneration);
+            Platform.runLater(() -> {
+                if (generation == searchGeneration) {
+                    reveal(query, line);
+                }
+            });
+        });
+    }
+
+    private void reveal(String query, int line) {
+        if (query.isEmpty()) {
+            statusLbl.setText(String.format("%,d lines", index.lineCount()));
+            return;
+        }
+        if (line < 0) {
+            statusLbl.setText("No match");
+            return;
+        }
+        currentLine = line;
+        var opened = false;
+        for (var fold : index.foldsHiding(line)) {
+            opened |= !expanded[fold];
+            expanded[fold] = true;
+        }
+        if (opened) {
+            setRows(index.rows(expanded));
+        }
+        var row = rowOf(line);
+        listView.getSelectionModel().select(row);
+        listView.scrollTo(Math.max(0, row - 3));
+        statusLbl.setText(String.format("line %,d of %,d", line + 1, index.lineCount()));
+    }
+
+    private int rowOf(int value) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] == value) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private String foldText(int fold) {
+        var f = index.folds().get(fold);
+        var arrow = expanded[fold] ? "\u25be " : "\u25b8 ";
+        if (f.kind == TraceIndex.FoldKind.REPEAT) {
+            var period = f.size() / (f.repeats - 1);
+            return String.format("\t%s%d frames repeated %,d more times (%,d lines)", arrow, period, f.repeats - 1, f.size());
+        }
+        return String.format("\t%s%,d lines", arrow, f.size());
+    }
+
+    private static synchronized ExecutorService background() {
+        if (background == null) {
+            background = Executors.newSingleThreadExecutor(runnable -> {
+                var thread = new Thread(runnable, "trace-viewer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    /**
+     * A made up trace of about the given number of frames for the explorer's
+     * error alerts: a deep recursion followed by a chain of causes.
+     */
+    static String sampleTrace(int frames) {
+        var trace = new StringBuilder(frames * 64);
+        trace.append("java.lang.IllegalStateException: Unable to render report 'quarterly-summary'\n");
+        for (int i = 0; i < 6; i++) {
+            trace.append("\tat com.example.report.Renderer.render").append(i).append("(Renderer.java:").append(40 + i).append(")\n");
+        }
+        var recursion = frames * 3 / 5 / 3;
+        for (int i = 0; i < recursion; i++) {
+            trace.append("\tat com.example.report.Node.visit(Node.java:88)\n")
+                .append("\tat com.example.report.Group.accept(Group.java:41)\n")
+                .append("\tat com.example.report.Node.visitChildren(Node.java:102)\n");
+        }
+        trace.append("\tat com.example.report.Renderer.main(Renderer.java:12)\n");
+
+        trace.append("Caused by: java.io.UncheckedIOException: Unable to read template 'summary.tpl'\n");
+        for (int i = 0; i < frames / 3; i++) {
+            trace.append("\tat com.example.io.TemplateReader.section").append(i)
+                .append("(TemplateReader.java:").append(100 + i).append(")\n");
+        }
+        trace.append("\t... ").append(recursion * 3 + 7).append(" more\n");
+
+        trace.append("Caused by: java.io.IOException: Stream closed\n")
+            .append("\tat java.base/java.io.BufferedInputStream.getBufIfOpen(BufferedInputStream.java:176)\n")
+            .append("\tat java.base/java.io.BufferedInputStream.read(BufferedInputStream.java:342)\n")
+            .append("\t... ").append(frames / 3 + recursion * 3 + 7).append(" more\n");
+        return trace.toString();
+    }
+
+    private final class RowCell extends ListCell<Integer> {
+        RowCell() {
+            setOnMouseClicked(evt -> {
+                if (evt.getButton() == MouseButton.PRIMARY && !isEmpty() && getItem() < 0) {
+                    toggle(-getItem() - 1);
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(Integer row, boolean empty) {
+            super.updateItem(row, empty);
+            var fold = !empty && row != null && row < 0;
+            pseudoClassStateChanged(FOLD, fold);
+            if (empty || row == null) {
+                setText(null);
+            } else if (fold) {
+                setText(foldText(-row - 1));
+            } else {
+                var line = index.line(row);
+                setText(line.length() > MAX_LINE_CHARS ? line.substring(0, MAX_LINE_CHARS) + "\u2026" : line);
+            }
+        }
+    }
+}
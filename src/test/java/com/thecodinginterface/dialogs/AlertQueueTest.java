@@ -0,0 +1,178 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AlertQueueTest {
+    private final List<FakeView> views = new ArrayList<>();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private AlertQueue queue;
+
+    @Before public void setUp() {
+        queue = new AlertQueue(3, 10, () -> {
+            var view = new FakeView();
+            views.add(view);
+            return view;
+        }, drainRequests::incrementAndGet);
+    }
+
+    @Test public void testRepeatsAreFoldedIntoTheOpenWindow() {
+        assertEquals(AlertQueue.Outcome.QUEUED, post("db-down", AlertQueue.Priority.HIGH));
+        queue.drain();
+        assertEquals(AlertQueue.Outcome.COALESCED, post("db-down", AlertQueue.Priority.HIGH));
+        assertEquals(AlertQueue.Outcome.COALESCED, post("db-down", AlertQueue.Priority.HIGH));
+        queue.drain();
+
+        assertEquals(1, views.size());
+        // both repeats reach the window in a single update
+        assertEquals(1, views.get(0).updates);
+        assertEquals(3, views.get(0).notice.count);
+        assertEquals(2, queue.getCoalesced());
+    }
+
+    @Test public void testOpenWindowsAreCappedAndFreedOnClose() {
+        for (int i = 0; i < 5; i++) {
+            post("error-" + i, AlertQueue.Priority.NORMAL);
+        }
+        queue.drain();
+        assertEquals(3, queue.openCount());
+        assertEquals(2, queue.pendingCount());
+
+        views.get(0).close();
+        queue.drain();
+        assertEquals(3, queue.openCount());
+        assertEquals(1, queue.pendingCount());
+        assertEquals("error-3", views.get(3).notice.key);
+    }
+
+    @Test public void testHigherPriorityIsShownFirst() {
+        queue = new AlertQueue(1, 10, () -> {
+            var view = new FakeView();
+            views.add(view);
+            return view;
+        }, () -> {});
+        post("low", AlertQueue.Priority.LOW);
+        post("high", AlertQueue.Priority.HIGH);
+        queue.drain();
+        assertEquals("high", views.get(0).notice.key);
+    }
+
+    @Test public void testFullQueueDropsLowestPriorityFirst() {
+        queue = new AlertQueue(0, 2, FakeView::new, () -> {});
+        post("low", AlertQueue.Priority.LOW);
+        post("normal", AlertQueue.Priority.NORMAL);
+
+        assertEquals(AlertQueue.Outcome.QUEUED, post("high", AlertQueue.Priority.HIGH));
+        assertEquals(AlertQueue.Outcome.DROPPED, post("another-normal", AlertQueue.Priority.NORMAL));
+        assertEquals(2, queue.getDropped());
+        assertEquals(2, queue.pendingCount());
+    }
+
+    @Test public void testDrainIsRequestedOncePerBatch() {
+        for (int i = 0; i < 100; i++) {
+            post("error-" + (i % 5), AlertQueue.Priority.NORMAL);
+        }
+        assertEquals(1, drainRequests.get());
+        queue.drain();
+        post("error-0", AlertQueue.Priority.NORMAL);
+        assertEquals(2, drainRequests.get());
+    }
+
+    @Test public void testStormOfTenThousandErrorsPerSecond() throws Exception {
+        queue = new AlertQueue(3, 100, () -> {
+            var view = new FakeView();
+            views.add(view);
+            return view;
+        }, () -> {});
+        var producers = 4;
+        var perProducer = 2_500;
+        var keys = 50;
+        var start = new CountDownLatch(1);
+        var done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            var producer = p;
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        var n = producer * perProducer + i;
+                        var priority = AlertQueue.Priority.values()[n % 3];
+                        queue.post("backend-" + (n % keys), priority, "Backend Error", "backend unavailable");
+                        // 10k per second across all producers
+                        if (i % 25 == 0) {
+                            Thread.sleep(10);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        start.countDown();
+        var drains = 0;
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (done.getCount() > 0 && System.nanoTime() < deadline) {
+            // stand-in for the 60 Hz pulse, with the user closing a window now and then
+            queue.drain();
+            drains++;
+            if (drains % 10 == 0) {
+                views.stream().filter(v -> !v.closed).findFirst().ifPresent(FakeView::close);
+            }
+            assertTrue(queue.openCount() <= 3);
+            Thread.sleep(16);
+        }
+        assertTrue("producers did not finish", done.await(1, TimeUnit.SECONDS));
+        queue.drain();
+
+        assertEquals(producers * perProducer, queue.getEnqueued());
+        // every post was folded into an existing notification, dropped or became a new one
+        var distinctAdmitted = queue.getShown() + queue.pendingCount();
+        assertEquals(queue.getEnqueued(), queue.getCoalesced() + queue.getDropped() + distinctAdmitted);
+        assertTrue(queue.openCount() <= 3);
+        assertTrue(queue.getCoalesced() > queue.getEnqueued() * 0.9);
+
+        for (var view : views) {
+            // windows were updated at most once per drain, not once per error
+            assertTrue(view.updates <= drains + 1);
+        }
+    }
+
+    private AlertQueue.Outcome post(String key, AlertQueue.Priority priority) {
+        return queue.post(key, priority, key, key + " failed");
+    }
+
+    private static final class FakeView implements AlertQueue.View {
+        AlertQueue.Notice notice;
+        Runnable onClosed;
+        int updates;
+        boolean closed;
+
+        @Override
+        public void show(AlertQueue.Notice notice, Runnable onClosed) {
+            this.notice = notice;
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public void update(AlertQueue.Notice notice) {
+            this.notice = notice;
+            updates++;
+        }
+
+        void close() {
+            closed = true;
+            onClosed.run();
+        }
+    }
+}
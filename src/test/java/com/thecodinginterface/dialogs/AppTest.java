@@ -1,14 +1,226 @@
-/*
- * This Java source file was generated by the Gradle 'init' task.
- */
 package com.thecodinginterface.dialogs;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBar.ButtonData;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DialogPane;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import static com.thecodinginterface.dialogs.HeadlessFx.onFx;
+
+/**
+ * Drives every option of the dialog menu headless (see the Monocle settings
+ * of the test task in build.gradle) and fails when the time from clicking an
+ * option to its dialog being shown, or from closing a dialog to the feedback
+ * label updating, goes over budget. Budgets are the 95th percentile in
+ * milliseconds and can be changed with -Ddialogs.test.shownP95Millis and
+ * -Ddialogs.test.feedbackP95Millis.
+ */
 public class AppTest {
-    @Test public void testAppHasAGreeting() {
-        App classUnderTest = new App();
-        assertNotNull("app should have a greeting", classUnderTest.getGreeting());
+    private static final int ROUNDS = 5;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static final BlockingQueue<ShownDialog> shownDialogs = new LinkedBlockingQueue<>();
+    private static final BlockingQueue<Long> feedbackUpdates = new LinkedBlockingQueue<>();
+
+    private static App app;
+    private static Label feedbackLbl;
+    private static List<DialogOption> options;
+
+    private final List<Long> shownLatencies = new ArrayList<>();
+    private final List<Long> feedbackLatencies = new ArrayList<>();
+
+    @BeforeClass public static void launchApp() throws Exception {
+        HeadlessFx.start();
+
+        onFx(() -> {
+            Window.getWindows().addListener(new DialogWindowTracker());
+
+            app = new App();
+            var stage = new Stage();
+            app.start(stage);
+
+            var scene = stage.getScene();
+            feedbackLbl = (Label) scene.lookup(".feedback-label");
+            feedbackLbl.textProperty().addListener((obs, oldText, text) -> feedbackUpdates.add(System.nanoTime()));
+            @SuppressWarnings("unchecked")
+            var menu = (ListView<DialogOption>) scene.lookup(".dialog-options");
+            options = new ArrayList<>(menu.getItems());
+            return null;
+        });
+    }
+
+    @AfterClass public static void stopApp() throws Exception {
+        onFx(() -> {
+            app.stop();
+            return null;
+        });
+    }
+
+    @Test public void testEveryDialogOptionStaysWithinLatencyBudget() throws Exception {
+        assertFalse(options.isEmpty());
+        for (int round = 0; round < ROUNDS; round++) {
+            for (var option : options) {
+                switch (option.getText()) {
+                    case "Text Input Dialog":
+                        // type another option's name and let the dialog open it
+                        var txtPane = click(option);
+                        onFx(() -> {
+                            ((TextField) txtPane.lookup(".text-field")).setText("Info Alert");
+                            return null;
+                        });
+                        closeAndExpectNested(txtPane, ButtonType.OK);
+                        break;
+                    case "Choice Box Dialog":
+                        var choicePane = click(option);
+                        onFx(() -> {
+                            @SuppressWarnings("unchecked")
+                            var choices = (ComboBox<String>) choicePane.lookup(".combo-box");
+                            choices.setValue("Warning Alert");
+                            return null;
+                        });
+                        closeAndExpectNested(choicePane, ButtonType.OK);
+                        break;
+                    default:
+                        closeAndExpectFeedback(click(option));
+                }
+            }
+        }
+
+        var shownP95 = percentile(shownLatencies, 95);
+        var feedbackP95 = percentile(feedbackLatencies, 95);
+        var report = String.format("click to shown p50 %.1f ms p95 %.1f ms, close to feedback p50 %.1f ms p95 %.1f ms",
+            percentile(shownLatencies, 50), shownP95, percentile(feedbackLatencies, 50), feedbackP95);
+        System.out.println(report);
+
+        assertTrue(report, shownP95 <= Long.getLong("dialogs.test.shownP95Millis", 250));
+        assertTrue(report, feedbackP95 <= Long.getLong("dialogs.test.feedbackP95Millis", 50));
+    }
+
+    @Test public void testPooledAlertKeepsItsIcon() throws Exception {
+        var infoAlert = options.stream()
+            .filter(option -> option.getText().equals("Info Alert"))
+            .findFirst()
+            .orElseThrow();
+        // the second time round the alert comes from the pool
+        for (int round = 1; round <= 2; round++) {
+            var pane = click(infoAlert);
+            var graphic = onFx(pane::getGraphic);
+            assertNotNull("Info Alert has no icon when shown #" + round, graphic);
+            closeAndExpectFeedback(pane);
+        }
+    }
+
+    /**
+     * Fires the option the way a click on its menu row does and waits for its dialog.
+     */
+    private DialogPane click(DialogOption option) throws Exception {
+        var clickedAt = onFx(() -> {
+            var now = System.nanoTime();
+            // the handlers mostly block in showAndWait so fire from a separate event
+            Platform.runLater(option::fire);
+            return now;
+        });
+        return awaitShown(option.getText(), clickedAt);
+    }
+
+    private DialogPane awaitShown(String what, long since) throws InterruptedException {
+        var shown = shownDialogs.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(what + " never showed a dialog", shown);
+        shownLatencies.add(shown.shownAt - since);
+        return shown.pane;
+    }
+
+    private void closeAndExpectFeedback(DialogPane pane) throws Exception {
+        var closedAt = pressButton(pane, null);
+        var updatedAt = feedbackUpdates.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull("feedback label was not updated after closing " + pane.getHeaderText(), updatedAt);
+        feedbackLatencies.add(updatedAt - closedAt);
+    }
+
+    private void closeAndExpectNested(DialogPane pane, ButtonType buttonType) throws Exception {
+        var closedAt = pressButton(pane, buttonType);
+        closeAndExpectFeedback(awaitShown("nested option", closedAt));
+    }
+
+    private long pressButton(DialogPane pane, ButtonType buttonType) throws Exception {
+        return onFx(() -> {
+            var toPress = buttonType;
+            if (toPress == null) {
+                // OK where there is one, otherwise whatever closes the dialog
+                toPress = pane.getButtonTypes().contains(ButtonType.OK) ? ButtonType.OK
+                    : pane.getButtonTypes().stream()
+                        .filter(type -> type.getButtonData() == ButtonData.CANCEL_CLOSE)
+                        .findFirst()
+                        .orElse(pane.getButtonTypes().get(0));
+            }
+            var button = (Button) pane.lookupButton(toPress);
+            // anything the handler set while showing the dialog has happened by now
+            feedbackUpdates.clear();
+            var now = System.nanoTime();
+            button.fire();
+            return now;
+        });
+    }
+
+    private static double percentile(List<Long> latencies, int percentile) {
+        var sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        var index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    /**
+     * Reports each dialog window as it is shown, pooled dialogs come back to
+     * Window.getWindows() on every show so each window is only hooked once.
+     */
+    private static final class DialogWindowTracker implements ListChangeListener<Window> {
+        private final Set<Window> tracked = new HashSet<>();
+
+        @Override
+        public void onChanged(Change<? extends Window> change) {
+            while (change.next()) {
+                for (var window : change.getAddedSubList()) {
+                    // dialogs wrap their DialogPane in a root of their own
+                    var pane = window.getScene() != null ? window.getScene().getRoot().lookup(".dialog-pane") : null;
+                    if (pane instanceof DialogPane && tracked.add(window)) {
+                        window.addEventHandler(WindowEvent.WINDOW_SHOWN, evt -> shownDialogs.add(
+                            new ShownDialog((DialogPane) pane, System.nanoTime())));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class ShownDialog {
+        final DialogPane pane;
+        final long shownAt;
+
+        ShownDialog(DialogPane pane, long shownAt) {
+            this.pane = pane;
+            this.shownAt = shownAt;
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.ButtonType;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static com.thecodinginterface.dialogs.HeadlessFx.onFx;
+
+public class AsyncDialogsTest {
+    @BeforeClass public static void startFx() throws Exception {
+        HeadlessFx.start();
+    }
+
+    @Test public void testCancelWhileTheDialogIsBuiltStillClosesIt() throws Exception {
+        var alert = onFx(() -> new Alert(AlertType.INFORMATION));
+        var shown = new CompletableFuture<CompletableFuture<Optional<ButtonType>>>();
+        // the factory runs after the future was checked for a cancel, so cancelling in it
+        // is a cancel landing between that check and the dialog being shown
+        var future = AsyncDialogs.show(() -> {
+            shown.join().cancel(false);
+            return alert;
+        });
+        shown.complete(future);
+
+        assertFalse(onFx(alert::isShowing));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test public void testCancelClosesDialogsWithoutACancelButton() throws Exception {
+        var alert = onFx(() -> new Alert(AlertType.CONFIRMATION, "Keep going?", ButtonType.YES, ButtonType.NO));
+        var future = AsyncDialogs.show(alert);
+        assertTrue(onFx(alert::isShowing));
+
+        future.cancel(false);
+
+        assertFalse(onFx(alert::isShowing));
+        assertEquals(List.of(ButtonType.YES, ButtonType.NO), onFx(() -> List.copyOf(alert.getButtonTypes())));
+    }
+}
@@ -0,0 +1,54 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ChoiceIndexTest {
+    private ChoiceIndex index;
+
+    @Before public void setUp() {
+        index = ChoiceIndex.build(ChoiceSource.of(Arrays.asList(
+            "web-01.eu-west-1.example.com",    // 0
+            "db-01.us-east-1.example.com",     // 1
+            "Web-02.US-EAST-1.example.com",    // 2
+            "cache-01.eu-west-1.example.com",  // 3
+            "Stra\u00dfe-01.example.de")));         // 4
+    }
+
+    @Test public void testFilterMatchesSubstringsIgnoringCase() {
+        assertEquals(5, index.size());
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, index.filter("", () -> false));
+        assertArrayEquals(new int[] { 0, 2 }, index.filter("WEB", () -> false));
+        assertArrayEquals(new int[] { 1, 2 }, index.filter("us-east", () -> false));
+        assertArrayEquals(new int[] { 4 }, index.filter("stra\u00dfe", () -> false));
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, index.filter(".com", () -> false));
+        assertArrayEquals(new int[0], index.filter("eu-west-2", () -> false));
+    }
+
+    @Test public void testFilterWithinEarlierMatchesOnlyLooksAtThose() {
+        var web = index.filter("web", () -> false);
+        assertArrayEquals(new int[] { 2 }, index.filter("web-02", web, () -> false));
+        // an item outside within is never returned even when it matches
+        assertArrayEquals(new int[] { 0 }, index.filter("01", new int[] { 0 }, () -> false));
+    }
+
+    @Test public void testCancelledFilterReturnsNull() {
+        assertNull(index.filter("web", () -> true));
+    }
+
+    @Test public void testSampleHostsAreFilteredAcrossPages() {
+        var hosts = ChoiceSource.sampleHosts(10000);
+        var large = ChoiceIndex.build(hosts);
+        assertEquals(10000, large.size());
+        assertEquals(hosts.page(7777, 1).get(0), hosts.page(7770, 10).get(7));
+
+        var found = large.filter("-0009999.", () -> false);
+        assertArrayEquals(new int[] { 9999 }, found);
+        for (var item : large.filter("web-", () -> false)) {
+            assertTrue(hosts.page(item, 1).get(0).startsWith("web-"));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static com.thecodinginterface.dialogs.HeadlessFx.onFx;
+
+public class CountDownDialogTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @BeforeClass public static void startFx() throws Exception {
+        HeadlessFx.start();
+    }
+
+    @Test public void testSkippedStepsStillCountAsDrift() throws Exception {
+        var drift = onFx(() -> {
+            var dialog = new CountDownDialog(null, 1, "Drift", true, CountDownDialog.Resolution.TENTHS);
+            // one second left from time zero, a step every 100 ms
+            dialog.startTimer(0);
+            try {
+                dialog.render(50 * MILLIS);
+                // a stalled FX thread misses 0.9 and 0.8, 0.9 was due at 100 ms
+                dialog.render(355 * MILLIS);
+                // and 0.6 shows right on time
+                dialog.render(400 * MILLIS);
+            } finally {
+                dialog.stopTimer();
+            }
+            return new double[] { dialog.getMaxDriftMillis(), dialog.getAverageDriftMillis() };
+        });
+
+        assertEquals(255, drift[0], 0.001);
+        assertEquals(127.5, drift[1], 0.001);
+    }
+}
@@ -0,0 +1,94 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DialogCatalogTest {
+    private DialogCatalog catalog;
+
+    @Before public void setUp() {
+        catalog = DialogCatalog.load();
+    }
+
+    @Test public void testNamesAreInCatalogOrder() {
+        var names = catalog.names();
+        assertEquals(14, names.size());
+        assertEquals("None Alert", names.get(0));
+        assertEquals("Custom Dialog", names.get(names.size() - 1));
+    }
+
+    @Test public void testDefinitionIsParsedFromItsOwnSection() {
+        var definition = catalog.definition("Error Alert (Non-Blocking)");
+        assertEquals("alert", definition.getType());
+        assertEquals("Error Alert (Non-Blocking)", definition.get("title"));
+        assertFalse(definition.isBlocking());
+        assertNull(catalog.definition("Alert (No Header)").get("header"));
+    }
+
+    @Test public void testDefinitionsAreParsedOnce() {
+        assertSame(catalog.definition("Custom Dialog"), catalog.definition("Custom Dialog"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownNamesAreRejected() {
+        catalog.definition("Missing Dialog");
+    }
+
+    @Test public void testIndexIsOnlyUsedForTheCatalogItWasMadeFrom() throws Exception {
+        var dir = Files.createTempDirectory("catalog-test");
+        try {
+            var original = "[One]\ntype = alert\n[Two]\ntype = choice\n";
+            // same length, but Two starts a byte later
+            var edited = "[One]\ntype = alerts\n[Two]\ntype = choic\n";
+            var catalogFile = Files.write(dir.resolve("dialogs.catalog"), edited.getBytes(StandardCharsets.UTF_8));
+            var indexFile = dir.resolve("dialogs.catalog.idx");
+
+            // made from the original an hour before the edit
+            var modified = Files.getLastModifiedTime(catalogFile).toMillis();
+            writeIndex(indexFile, original.length(), modified - 3_600_000,
+                List.of("One", "Two"), new int[] { 0, 19, 19, 20 });
+            var stale = DialogCatalog.load(catalogFile.toUri().toURL(), indexFile.toUri().toURL());
+            assertEquals(List.of("One", "Two"), stale.names());
+            assertEquals("alerts", stale.definition("One").getType());
+            assertEquals("choic", stale.definition("Two").getType());
+
+            // an index made from this very catalog is used as it is, only naming One here
+            writeIndex(indexFile, edited.length(), modified, List.of("One"), new int[] { 0, 20 });
+            var current = DialogCatalog.load(catalogFile.toUri().toURL(), indexFile.toUri().toURL());
+            assertEquals(List.of("One"), current.names());
+            assertEquals("alerts", current.definition("One").getType());
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (var file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * Writes an index the way processResources in build.gradle does.
+     */
+    private static void writeIndex(Path file, long size, long modified, List<String> names, int[] spans)
+            throws Exception {
+        try (var out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x44434958);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.writeInt(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                out.writeUTF(names.get(i));
+                out.writeInt(spans[i * 2]);
+                out.writeInt(spans[i * 2 + 1]);
+            }
+        }
+    }
+}
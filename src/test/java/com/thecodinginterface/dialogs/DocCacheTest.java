@@ -0,0 +1,110 @@
+package com.thecodinginterface.dialogs;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DocCacheTest {
+    private static final long MAX_BYTES = 100;
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private Path dir;
+    private DocCache cache;
+
+    @Before public void setUp() throws Exception {
+        // pages of 40 bytes, /big is more than the whole cache holds
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            var path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            var body = page(path).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        dir = Files.createTempDirectory("doc-cache-test");
+        cache = new DocCache(dir, MAX_BYTES);
+    }
+
+    @After public void tearDown() throws Exception {
+        server.stop(0);
+        try (var files = Files.list(dir)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test public void testLeastRecentlyUsedPageIsEvictedFirst() {
+        open("/a");
+        open("/b");
+        // a is now more recent than b
+        open("/a");
+        open("/c");
+
+        assertEquals(80, cache.size());
+        assertEquals(2, countBodies());
+        // a and c come from the cache, b has to be fetched again
+        open("/a");
+        open("/c");
+        open("/b");
+        assertEquals(1, requests.get("/a").get());
+        assertEquals(1, requests.get("/c").get());
+        assertEquals(2, requests.get("/b").get());
+        assertTrue(cache.size() <= MAX_BYTES);
+    }
+
+    @Test public void testResponsesBiggerThanTheCacheArePassedThrough() {
+        open("/a");
+        open("/c");
+
+        assertEquals(page("/big"), open("/big"));
+        // nothing was stored or pushed out for it
+        assertEquals(80, cache.size());
+        assertEquals(2, countBodies());
+
+        assertEquals(page("/big"), open("/big"));
+        assertEquals(2, requests.get("/big").get());
+        open("/a");
+        assertEquals(1, requests.get("/a").get());
+    }
+
+    private String open(String path) {
+        var response = cache.open("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        return new String(response.body, StandardCharsets.UTF_8);
+    }
+
+    private long countBodies() {
+        try (var files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".body")).count();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String page(String path) {
+        var length = path.equals("/big") ? 150 : 40;
+        var page = new StringBuilder(path);
+        while (page.length() < length) {
+            page.append('.');
+        }
+        return page.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package com.thecodinginterface.dialogs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DocIndexTest {
+    private static final String MARKDOWN = String.join("\n",
+        "# Dialogs",
+        "",
+        "## The Alert class",
+        "",
+        "Alerts are the quickest way to tell the user something.",
+        "",
+        "#### Error Alert (Non-Blocking)",
+        "",
+        "Calling `show()` instead of `showAndWait()` returns straight away.",
+        "",
+        "```",
+        "## not a heading",
+        "alert.show();",
+        "```",
+        "",
+        "#### Text Input Dialog",
+        "",
+        "1) type the name of a dialog",
+        "2) press _OK_ and see [the docs](https://openjfx.io)");
+
+    private DocBuilder builder;
+    private DocIndex index;
+
+    @Before public void setUp() {
+        builder = new DocBuilder();
+        builder.add("Guide", MARKDOWN);
+        index = builder.index();
+    }
+
+    @Test public void testSectionsAreKeyedByTheBlogAnchors() {
+        assertNotNull(index.section("error-alert-non-blocking"));
+        assertEquals("Text Input Dialog", index.section("text-input-dialog").heading);
+        // headings inside code blocks don't start sections
+        assertEquals(4, index.sections().size());
+    }
+
+    @Test public void testMarkdownIsRenderedToHtml() {
+        var page = builder.pages().get(3);
+        var html = DocBuilder.renderPage(page, builder.pages().get(2), null);
+        assertTrue(html.contains("<h4 id=\"text-input-dialog\">Text Input Dialog</h4>"));
+        assertTrue(html.contains("<li>press <em>OK</em> and see <a href=\"https://openjfx.io\">the docs</a></li>"));
+        assertTrue(html.contains("<a href=\"error-alert-non-blocking.html\">"));
+        assertTrue(DocBuilder.renderMarkdown("```\n<b>\n```\n").contains("<pre><code>&lt;b&gt;\n</code></pre>"));
+    }
+
+    @Test public void testSearchNeedsEveryWordAndCompletesTheLastOne() {
+        assertEquals("Error Alert (Non-Blocking)", index.search("showandwait", 5).get(0).heading);
+        // the heading outranks a mention in the text
+        assertEquals("The Alert class", index.search("alert", 5).get(0).heading);
+        assertEquals("Text Input Dialog", index.search("dialog na", 5).get(0).heading);
+        assertTrue(index.search("dialog na ", 5).isEmpty());
+        assertTrue(index.search("alert missing", 5).isEmpty());
+        assertTrue(index.search("the ", 5).isEmpty());
+    }
+
+    @Test public void testAHalfTypedStopWordOrLetterStillCompletes() {
+        assertEquals("Text Input Dialog", index.search("in", 5).get(0).heading);
+        assertEquals("Text Input Dialog", index.search("dialog in", 5).get(0).heading);
+        assertEquals("Error Alert (Non-Blocking)", index.search("s", 5).get(0).heading);
+        // once finished they are left out again
+        assertTrue(index.search("in ", 5).isEmpty());
+        assertEquals(index.search("dialog ", 5), index.search("dialog in ", 5));
+    }
+
+    @Test public void testLocalUrlsFallBackToTheRemoteOnes() {
+        var remote = "https://thecodinginterface.com/blog/javafx-alerts-and-dialogs/#non-alert";
+        assertEquals(remote, index.localUrl(remote));
+        assertEquals("https://openjfx.io/javadoc/11/", index.localUrl("https://openjfx.io/javadoc/11/"));
+    }
+
+    @Test public void testIndexSurvivesWritingAndReading() throws Exception {
+        var out = new ByteArrayOutputStream();
+        index.write(out);
+        var read = DocIndex.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(index.termCount(), read.termCount());
+        assertEquals(index.sections().size(), read.sections().size());
+        assertEquals(index.search("input ty", 5).get(0).anchor, read.search("input ty", 5).get(0).anchor);
+    }
+
+    @Test public void testSearchingALargeDocSetTakesUnderFiveMillis() throws Exception {
+        var random = new Random(42);
+        var vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = Integer.toString(i * 7919, 36) + "x";
+        }
+        var large = new DocBuilder();
+        var markdown = new StringBuilder();
+        for (int section = 0; section < 5_000; section++) {
+            markdown.append("## Section ").append(section).append('\n');
+            for (int word = 0; word < 200; word++) {
+                markdown.append(vocabulary[(int) Math.abs(random.nextGaussian() * 3000) % vocabulary.length]).append(' ');
+            }
+            markdown.append("\n\n");
+        }
+        large.add("Large", markdown.toString());
+        var largeIndex = large.index();
+
+        var queries = new ArrayList<String>();
+        for (int i = 0; i < 500; i++) {
+            var word = vocabulary[random.nextInt(3000)];
+            queries.add("section " + word.substring(0, 1 + random.nextInt(word.length())));
+        }
+        // let the JIT see the search before timing it
+        queries.forEach(query -> largeIndex.search(query, 10));
+
+        // a single slow one is allowed for a collection landing in the middle
+        var slowest = 0L;
+        for (var query : queries) {
+            var start = System.nanoTime();
+            largeIndex.search(query, 10);
+            slowest = Math.max(slowest, System.nanoTime() - start);
+        }
+        var start = System.nanoTime();
+        for (var query : queries) {
+            largeIndex.search(query, 10);
+        }
+        var average = (System.nanoTime() - start) / queries.size();
+        assertTrue("average search took " + average / 1000 + " us", average < 5_000_000);
+        assertTrue("slowest search took " + slowest / 1000 + " us", slowest < 50_000_000);
+    }
+}
@@ -0,0 +1,45 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit once for every test class that needs it, the
+ * toolkit can only be started once per JVM and the test task runs all the
+ * classes in one.
+ */
+final class HeadlessFx {
+    static final long TIMEOUT_SECONDS = 10;
+
+    private static boolean started;
+
+    private HeadlessFx() {
+    }
+
+    static synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        var ready = new CountDownLatch(1);
+        Platform.startup(ready::countDown);
+        // closing the last window of one test class must not end the toolkit for the next
+        Platform.setImplicitExit(false);
+        if (!ready.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("JavaFX did not start within " + TIMEOUT_SECONDS + " seconds");
+        }
+        started = true;
+    }
+
+    /**
+     * Runs work on the FX thread and waits for its result.
+     */
+    static <T> T onFx(Callable<T> work) throws Exception {
+        var task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.thecodinginterface.dialogs;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.thecodinginterface.dialogs.InteractionJournal.Event;
+import com.thecodinginterface.dialogs.InteractionJournal.Kind;
+
+public class InteractionJournalTest {
+    @Test public void testEventsAreReadBackAsSessions() throws Exception {
+        var dir = Files.createTempDirectory("journal");
+        for (int session = 0; session < 2; session++) {
+            var journal = new InteractionJournal(dir, 64, 64 * 1024, 4);
+            journal.record(Kind.OPENED, "Info Alert", null);
+            journal.record(Kind.BUTTON, "Info Alert", "OK");
+            journal.record(Kind.OPENED, "Text Input Dialog", null);
+            journal.record(Kind.INPUT, "Text Input Dialog", "Info Alert");
+            journal.record(Kind.OPENED, "Info Alert", null);
+            journal.record(Kind.BUTTON, "Info Alert", "OK");
+            journal.close();
+        }
+
+        var sessions = new JournalReader(dir).sessions();
+        assertEquals(2, sessions.size());
+        var session = sessions.get(1);
+        assertEquals(8, session.size());
+        assertEquals(Kind.SESSION_STARTED, session.get(0).kind);
+        assertEquals("Text Input Dialog", session.get(3).dialog);
+        assertEquals("Info Alert", session.get(4).value);
+        assertNull(session.get(3).value);
+        assertEquals(Kind.SESSION_ENDED, session.get(7).kind);
+
+        var counts = JournalReader.aggregate(session);
+        assertEquals(Integer.valueOf(2), counts.get("Info Alert").get("OPENED"));
+        assertEquals(Integer.valueOf(2), counts.get("Info Alert").get("BUTTON OK"));
+        assertEquals(Integer.valueOf(1), counts.get("Text Input Dialog").get("INPUT"));
+    }
+
+    @Test public void testFullSegmentsRotateAndTheOldestAreDeleted() throws Exception {
+        var dir = Files.createTempDirectory("journal");
+        var journal = new InteractionJournal(dir, 1024, 64 * 1024, 3);
+        var text = "x".repeat(InteractionJournal.MAX_TEXT_BYTES * 2);
+        var recorded = 0;
+        while (recorded < 1000) {
+            if (journal.record(Kind.INPUT, "Text Input Dialog", text)) {
+                recorded++;
+            } else {
+                Thread.sleep(1);
+            }
+        }
+        journal.close();
+
+        assertEquals(3, JournalReader.segments(dir).size());
+        var events = new ArrayList<Event>();
+        new JournalReader(dir).replay(events::add);
+        // only the last three segments of about sixty events each are left
+        assertTrue(events.size() > 100 && events.size() < 1000);
+        assertEquals(InteractionJournal.MAX_TEXT_BYTES, events.get(0).value.length());
+        assertEquals(Kind.SESSION_ENDED, events.get(events.size() - 1).kind);
+    }
+
+    @Test public void testRecordingDropsRatherThanWaitsWhenTheRingIsFull() throws Exception {
+        var dir = Files.createTempDirectory("journal");
+        var journal = new InteractionJournal(dir, 4, 1024 * 1024, 2);
+        var attempts = 100_000;
+        for (int i = 0; i < attempts; i++) {
+            journal.record(Kind.COUNTDOWN, "Count Down Dialog", Integer.toString(i));
+        }
+        journal.close();
+
+        var events = new ArrayList<Event>();
+        new JournalReader(dir).replay(events::add);
+        assertEquals(journal.getWritten(), events.size());
+        // plus the session start and end
+        assertEquals(attempts + 2, journal.getWritten() + journal.getDropped());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBeAPowerOfTwo() throws Exception {
+        new InteractionJournal(Files.createTempDirectory("journal"), 100, 64 * 1024, 2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LeakTrackerTest {
+    @Test public void testCollectedObjectsAreNoLongerCounted() throws Exception {
+        var tracker = new LeakTracker();
+        var kept = new Object();
+        tracker.track("Dialog", kept, 0);
+        tracker.track("Dialog", new Object(), 0);
+        // tracking the same object again doesn't count it twice
+        tracker.track("Dialog", kept, 1);
+
+        for (int i = 0; i < 10 && tracker.liveCount("Dialog") > 1; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, tracker.liveCount("Dialog"));
+    }
+
+    @Test public void testSteadyCountsAreNotSuspects() {
+        var tracker = new LeakTracker();
+        for (int cycle = 0; cycle <= 1000; cycle += 10) {
+            tracker.sample(cycle, Map.of("pulseTasks", 2L));
+        }
+        assertEquals(0, tracker.growthPer1000("pulseTasks"), 0.001);
+        assertFalse(tracker.suspects().contains("pulseTasks"));
+    }
+
+    @Test public void testGrowingCountsAreReportedWithTheirOldestInstances() {
+        var tracker = new LeakTracker();
+        var retained = new ArrayList<Object>();
+        for (int cycle = 0; cycle <= 1000; cycle++) {
+            var dialog = new Object();
+            retained.add(dialog);
+            tracker.track("Dialog", dialog, cycle);
+            if (cycle % 10 == 0) {
+                tracker.sample(cycle, Map.of());
+            }
+        }
+
+        assertEquals(1000, tracker.growthPer1000("liveDialog"), 1);
+        assertTrue(tracker.suspects().contains("liveDialog"));
+        assertTrue(tracker.report().contains("still reachable since cycle 0"));
+        assertEquals(1001, retained.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OptionRegistryTest {
+    private OptionRegistry<Integer> registry;
+
+    @Before public void setUp() {
+        registry = new OptionRegistry<>();
+        registry.register("Info Alert", 1);
+        registry.register("Error Alert", 2);
+        registry.register("Error Alert (Non-Blocking)", 3);
+        registry.register("Alert (No Header)", 4);
+        registry.register("Text Input Dialog", 5);
+    }
+
+    @Test public void testFindIgnoresCaseAndSurroundingSpace() {
+        assertEquals(Optional.of(2), registry.find("  error ALERT "));
+        assertEquals(Optional.empty(), registry.find("Error"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateNamesAreRejected() {
+        registry.register("INFO ALERT", 6);
+    }
+
+    @Test public void testExactMatchIsSuggestedFirst() {
+        assertEquals(List.of("Error Alert", "Error Alert (Non-Blocking)"), registry.suggest("error alert", 5));
+    }
+
+    @Test public void testSuggestsByLaterWords() {
+        assertEquals(List.of("Alert (No Header)"), registry.suggest("header", 5));
+    }
+
+    @Test public void testSuggestsDespiteTypos() {
+        assertEquals("Text Input Dialog", registry.suggest("txet inp", 5).get(0));
+    }
+
+    @Test public void testSuggestionsStayFastForLargeRegistries() {
+        var large = new OptionRegistry<Integer>();
+        for (int i = 0; i < 50_000; i++) {
+            large.register(sampleName(i), i);
+        }
+
+        // typos are still corrected at this size, wherever the branch sits in the trie
+        var sampel = large.suggest("sampel 1", 8);
+        assertFalse(sampel.isEmpty());
+        for (var name : sampel) {
+            assertTrue(name, name.startsWith("Sample 1"));
+        }
+        assertTrue(large.suggest("dialig 4999", 8).contains(sampleName(4999)));
+
+        // warm up the completion caches and the JIT before measuring
+        for (int i = 0; i < 2_000; i++) {
+            large.suggest(query(i), 8);
+        }
+
+        var queries = 1_000;
+        var start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            assertFalse(large.suggest(query(i), 8).isEmpty());
+        }
+        var avgMillis = (System.nanoTime() - start) / 1_000_000.0 / queries;
+        assertTrue("average suggestion took " + avgMillis + "ms", avgMillis < 1.0);
+    }
+
+    private static String sampleName(int i) {
+        return String.format("Sample %s Dialog %d", Integer.toString(i * 7919, 36), i);
+    }
+
+    private static String query(int i) {
+        // alternate a typo in the first word with one in a later word
+        return i % 2 == 0 ? "sampel " + Integer.toString(1 + i % 35, 36) : "dialig " + (i % 5000);
+    }
+}
@@ -0,0 +1,71 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javafx.scene.control.Button;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static com.thecodinginterface.dialogs.HeadlessFx.onFx;
+
+public class ProgressDialogTest {
+    private static final long ITEMS = 1_000_000_000L;
+
+    @BeforeClass public static void startFx() throws Exception {
+        HeadlessFx.start();
+    }
+
+    @Test public void testCancellingStopsTheWorkersWhereTheyAre() throws Exception {
+        // far more than can be done before the cancel comes
+        var dialog = onFx(() -> new ProgressDialog(null, "Counting", ITEMS, 2, 64));
+        onFx(() -> {
+            dialog.show();
+            return null;
+        });
+        waitFor(() -> dialog.getItemsDone() > 0);
+
+        onFx(() -> {
+            dialog.close();
+            return null;
+        });
+        // the cancel button reads Close once every Task is cancelled, the workers
+        // return from the Tasks at their next report
+        var closeBtn = onFx(() -> (Button) dialog.getDialogPane()
+            .lookupButton(dialog.getDialogPane().getButtonTypes().get(0)));
+        waitFor(() -> "Close".equals(closeBtn.getText()));
+        waitFor(() -> Thread.getAllStackTraces().values().stream().noneMatch(ProgressDialogTest::inChunk));
+        assertTrue(onFx(dialog::isCancelled));
+
+        var done = onFx(dialog::getItemsDone);
+        assertTrue(done > 0 && done < ITEMS);
+        assertTrue(onFx(dialog::getResult) <= done);
+        var progressBar = onFx(() -> (ProgressBar) ((VBox) dialog.getDialogPane().getContent()).getChildren().get(0));
+        assertEquals(done / (double) ITEMS, onFx(progressBar::getProgress), 1e-12);
+
+        // nothing is left running to move the count on
+        Thread.sleep(100);
+        assertEquals(done, (long) onFx(dialog::getItemsDone));
+    }
+
+    private static boolean inChunk(StackTraceElement[] frames) {
+        for (var frame : frames) {
+            if (frame.getClassName().startsWith(ProgressDialog.class.getName() + "$Chunk")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void waitFor(BooleanSupplier check) throws Exception {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(HeadlessFx.TIMEOUT_SECONDS);
+        while (!onFx(check::getAsBoolean)) {
+            assertTrue("timed out", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.thecodinginterface.dialogs;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SnapshotCacheTest {
+    private Path dir;
+
+    @Before public void setUp() throws Exception {
+        dir = Files.createTempDirectory("snapshot-cache-test");
+    }
+
+    @After public void tearDown() throws Exception {
+        try (var files = Files.list(dir)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test public void testKeyChangesWithTheStylesheetTheBuildOrTheDialog() {
+        var info = new DialogDefinition("Info Alert", Map.of("type", "alert", "content", "{name}"));
+        var key = SnapshotCache.key("css-1", "build-1", info);
+        assertEquals(key, SnapshotCache.key("css-1", "build-1",
+            new DialogDefinition("Info Alert", Map.of("content", "{name}", "type", "alert"))));
+
+        assertNotEquals(key, SnapshotCache.key("css-2", "build-1", info));
+        assertNotEquals(key, SnapshotCache.key("css-1", "build-2", info));
+        assertNotEquals(key, SnapshotCache.key("css-1", "build-1",
+            new DialogDefinition("Info Alert", Map.of("type", "alert", "content", "Hello"))));
+        assertNotEquals(key, SnapshotCache.key("css-1", "build-1",
+            new DialogDefinition("Other Alert", Map.of("type", "alert", "content", "{name}"))));
+    }
+
+    @Test public void testPixelsRoundTripThroughDisk() throws Exception {
+        var file = dir.resolve("thumb.thumb");
+        var argb = new int[] { 0xFF000000, 0xFFFFFFFF, 0x80FF0000, 0x0000FF00, 0xFF0000FF, 0xFF123456 };
+        SnapshotCache.write(file, new SnapshotCache.Pixels(3, 2, argb));
+
+        var read = SnapshotCache.read(file);
+        assertEquals(3, read.width);
+        assertEquals(2, read.height);
+        assertArrayEquals(argb, read.argb);
+        assertFalse(Files.exists(dir.resolve("thumb.thumb.part")));
+    }
+
+    @Test public void testMissingOrForeignFilesAreMisses() throws Exception {
+        assertNull(SnapshotCache.read(dir.resolve("missing.thumb")));
+
+        var foreign = dir.resolve("foreign.thumb");
+        Files.write(foreign, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertNull(SnapshotCache.read(foreign));
+    }
+}
@@ -0,0 +1,87 @@
+package com.thecodinginterface.dialogs;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TraceIndexTest {
+    private static final String TRACE = String.join("\n",
+        "java.lang.IllegalStateException: boom",           // 0
+        "\tat a.Top.run(Top.java:1)",                      // 1
+        "\tat a.Node.visit(Node.java:2)",                  // 2
+        "\tat a.Group.accept(Group.java:3)",               // 3
+        "\tat a.Node.visit(Node.java:2)",                  // 4
+        "\tat a.Group.accept(Group.java:3)",               // 5
+        "\tat a.Node.visit(Node.java:2)",                  // 6
+        "\tat a.Group.accept(Group.java:3)",               // 7
+        "\tat a.Main.main(Main.java:4)",                   // 8
+        "Caused by: java.io.IOException: Stream Closed",   // 9
+        "\tat b.Reader.read(Reader.java:5)",               // 10
+        "\tat b.Reader.read(Reader.java:5)",               // 11
+        "\tat b.Reader.read(Reader.java:5)",               // 12
+        "\t... 8 more") + "\n";                            // 13
+
+    private TraceIndex index;
+
+    @Before public void setUp() {
+        index = TraceIndex.build(TRACE);
+    }
+
+    @Test public void testLinesAreIndexed() {
+        assertEquals(14, index.lineCount());
+        assertEquals("java.lang.IllegalStateException: boom", index.line(0));
+        assertEquals("\t... 8 more", index.line(13));
+        assertEquals(1, TraceIndex.build("no newline").lineCount());
+        assertEquals("no newline", TraceIndex.build("no newline").line(0));
+    }
+
+    @Test public void testCausesAndRepeatedFramesFold() {
+        var folds = index.folds();
+        assertEquals(3, folds.size());
+        // the recursion keeps its first round
+        assertEquals(TraceIndex.FoldKind.REPEAT, folds.get(0).kind);
+        assertEquals(4, folds.get(0).start);
+        assertEquals(8, folds.get(0).end);
+        assertEquals(3, folds.get(0).repeats);
+        // the cause hides everything below it, its own repeat nested inside
+        assertEquals(TraceIndex.FoldKind.CAUSE, folds.get(1).kind);
+        assertEquals(10, folds.get(1).start);
+        assertEquals(14, folds.get(1).end);
+        assertEquals(TraceIndex.FoldKind.REPEAT, folds.get(2).kind);
+        assertEquals(11, folds.get(2).start);
+    }
+
+    @Test public void testRowsFollowWhatIsOpen() {
+        var closed = index.rows(new boolean[3]);
+        assertArrayEquals(new int[] { 0, 1, 2, 3, -1, 8, 9, -2 }, closed);
+
+        var causeOpen = index.rows(new boolean[] { false, true, false });
+        assertArrayEquals(new int[] { 0, 1, 2, 3, -1, 8, 9, -2, 10, -3, 13 }, causeOpen);
+
+        var allOpen = index.rows(new boolean[] { true, true, true });
+        assertArrayEquals(new int[] { 0, 1, 2, 3, -1, 4, 5, 6, 7, 8, 9, -2, 10, -3, 11, 12, 13 }, allOpen);
+    }
+
+    @Test public void testFindWrapsAroundAndIgnoresCaseForLowerCaseQueries() {
+        assertEquals(9, index.find("ioexception", 0, true));
+        assertEquals(9, index.find("stream closed", 0, true));
+        assertEquals(-1, index.find("Stream closed", 0, true));
+        assertEquals(2, index.find("Node", 3, false));
+        assertEquals(9, index.find("Caused", 10, true));
+        assertEquals(Arrays.asList(1, 2), index.foldsHiding(12));
+    }
+
+    @Test public void testFindReportsTheRightLineWhenLowerCasingChangesLengths() {
+        // a dotted capital I lower cases to two chars
+        var dotted = TraceIndex.build("\u0130".repeat(40) + "\nx\ny\nfind me\n");
+        assertEquals(3, dotted.find("find", 0, true));
+        assertEquals(3, dotted.find("find", 0, false));
+    }
+
+    @Test public void testFindGivesUpOnceCancelled() {
+        assertEquals(-1, index.find("stream", 0, true, () -> true));
+        assertEquals(9, index.find("stream", 0, true, () -> false));
+    }
+}